@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.bench;
+
+import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.algorithms.bees.BeesAlgorithmBuilder;
+import edu.sibfu.isit.nemeton.algorithms.sac.SACBuilder;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of single iteration of SAC and bees algorithm on hypersphere 
+ * of various dimensions. Sample size is SAC sample size and amount of 
+ * scouts and sources for bees algorithm.
+ * 
+ * @author Max Balushkin
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class AlgorithmBenchmark {
+    
+    @Param( { "2", "5", "10" } )
+    private int arity;
+    
+    @Param( { "50", "200" } )
+    private int sampleSize;
+    
+    private OptimizationAlgorithm sac;
+    private OptimizationAlgorithm bees;
+    
+    /**
+     * Creates algorithms which stop after first iteration.
+     */
+    @Setup
+    public void setup() {
+        final NFunction f = NFunction.of( ( double[] x ) -> {
+            double sum = 0;
+            for ( double xi : x ) {
+                sum += xi * xi;
+            }
+            return sum;
+        }, arity );
+        final Point start = new Point( arity, 1 );
+        
+        sac = new SACBuilder()
+            .centre( start )
+            .sampleSize( sampleSize )
+            .iterations( 1 )
+            .build( f );
+        bees = new BeesAlgorithmBuilder()
+            .hivePosition( start )
+            .hiveSize( 2 )
+            .scouts( sampleSize )
+            .sources( sampleSize )
+            .maxIteration( 1 )
+            .build( f );
+    }
+    
+    /**
+     * Single SAC iteration.
+     * 
+     * @return result
+     */
+    @Benchmark
+    public Result sacIteration() {
+        return sac.minimize();
+    }
+    
+    /**
+     * Single bees algorithm iteration.
+     * 
+     * @return result
+     */
+    @Benchmark
+    public Result beesIteration() {
+        return bees.minimize();
+    }
+    
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.bench;
+
+import edu.sibfu.isit.nemeton.Nemeton;
+import edu.sibfu.isit.nemeton.algorithms.AlgorithmBuilder;
+import edu.sibfu.isit.nemeton.algorithms.bees.BeesAlgorithmBuilder;
+import edu.sibfu.isit.nemeton.algorithms.sac.SACBuilder;
+import edu.sibfu.isit.nemeton.analysis.Analysis;
+import edu.sibfu.isit.nemeton.controllers.providers.Functions;
+import edu.sibfu.isit.nemeton.models.AnalysisResult;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end analysis: repeated runs of algorithm on built-in hypersphere
+ * with success check against known minima.
+ * 
+ * @author Max Balushkin
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class AnalysisBenchmark {
+    
+    @Param( { "sac", "bees" } )
+    private String algorithm;
+    
+    @Param( { "100" } )
+    private int runs;
+    
+    private final Analysis analysis = new Analysis();
+    private NFunction f;
+    private AlgorithmBuilder bldr;
+    
+    /**
+     * Registers functions and creates builder.
+     */
+    @Setup
+    public void setup() {
+        if ( Functions.get().isEmpty() ) {
+            Nemeton.registerFunctions();
+        }
+        f = Functions.get( 0 );
+        
+        final Point start = new Point( 2, 1 );
+        bldr = "sac".equals( algorithm ) 
+            ? new SACBuilder().centre( start ) 
+            : new BeesAlgorithmBuilder().hivePosition( start );
+    }
+    
+    /**
+     * Analyses algorithm.
+     * 
+     * @return analysis result
+     */
+    @Benchmark
+    public AnalysisResult analyse() {
+        return analysis.analyse( f, bldr, runs, 1e-2, ( done ) -> { } );
+    }
+    
+}
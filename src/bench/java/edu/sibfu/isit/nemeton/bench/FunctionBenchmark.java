@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.bench;
+
+import edu.sibfu.isit.nemeton.Nemeton;
+import edu.sibfu.isit.nemeton.controllers.providers.Functions;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.functions.CompiledConstraints;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation cost of built-in functions.
+ * Functions are selected by registration order in 
+ * {@link Nemeton#registerFunctions()}; add index to {@code function} parameter
+ * when new function is registered.
+ * 
+ * @author Max Balushkin
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class FunctionBenchmark {
+    
+    private static final int POINTS = 1024;
+    
+    @Param( { "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14" } )
+    private int function;
+    
+    private NFunction f;
+    private Point[] points;
+    private double[] coords;
+    private double[] out;
+    private int next;
+    
+    /**
+     * Registers functions and creates random arguments inside range box of
+     * function constraints; [-1; 1] is used in unbounded dimensions.
+     */
+    @Setup
+    public void setup() {
+        if ( Functions.get().isEmpty() ) {
+            Nemeton.registerFunctions();
+        }
+        f = Functions.get( function );
+        
+        final int arity = f.getArity();
+        final CompiledConstraints box = new CompiledConstraints( f.constraints(), arity );
+        final Random rnd = new Random( 42 );
+        points = new Point[ POINTS ];
+        coords = new double[ POINTS * arity ];
+        out = new double[ POINTS ];
+        for ( int i = 0; i < POINTS; i++ ) {
+            double[] x = new double[ arity ];
+            for ( int v = 0; v < arity; v++ ) {
+                final boolean bounded = !Double.isInfinite( box.lower( v ) ) 
+                    && !Double.isInfinite( box.upper( v ) );
+                final double lo = bounded ? box.lower( v ) : -1;
+                final double hi = bounded ? box.upper( v ) : 1;
+                x[ v ] = lo + rnd.nextDouble() * ( hi - lo );
+                coords[ i * arity + v ] = x[ v ];
+            }
+            points[ i ] = new Point( x );
+        }
+    }
+    
+    /**
+     * Single evaluation via {@link NFunction#eval(Point)}.
+     * 
+     * @return function value
+     */
+    @Benchmark
+    public double evalPoint() {
+        next = ( next + 1 ) & ( POINTS - 1 );
+        return f.eval( points[ next ] );
+    }
+    
+    /**
+     * Single evaluation via {@link NFunction#eval(double[])}.
+     * 
+     * @return function value
+     */
+    @Benchmark
+    public double evalArray() {
+        next = ( next + 1 ) & ( POINTS - 1 );
+        return f.eval( points[ next ].get() );
+    }
+    
+    /**
+     * Batch evaluation of all points.
+     * 
+     * @return values
+     */
+    @Benchmark
+    @OutputTimeUnit( TimeUnit.MICROSECONDS )
+    public double[] evalBatch() {
+        f.evalBatch( coords, f.getArity(), out );
+        return out;
+    }
+    
+}
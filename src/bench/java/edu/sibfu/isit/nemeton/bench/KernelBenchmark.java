@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.bench;
+
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.ParabolicKernel;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.SelectiveKernel;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.TabulatedKernel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of selective kernel evaluation over SAC sample: 
+ * {@link Math#pow(double, double)} against repeated squaring 
+ * and lookup table.
+ * 
+ * @author Max Balushkin
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class KernelBenchmark {
+    
+    @Param( { "10", "50" } )
+    private int selectiveness;
+    
+    private final SelectiveKernel parabolic = new ParabolicKernel();
+    private final SelectiveKernel tabulated = new TabulatedKernel( new ParabolicKernel() );
+    
+    private double[] g;
+    private double[] out;
+    
+    /**
+     * Creates random sample of dimensionless quantities.
+     */
+    @Setup
+    public void setup() {
+        Random rnd = new Random( 42 );
+        g = new double[ 200 ];
+        out = new double[ g.length ];
+        for ( int i = 0; i < g.length; i++ ) {
+            g[ i ] = rnd.nextDouble();
+        }
+    }
+    
+    /**
+     * Kernel by {@link Math#pow(double, double)}.
+     * 
+     * @return kernel values
+     */
+    @Benchmark
+    public double[] mathPow() {
+        for ( int i = 0; i < g.length; i++ ) {
+            out[ i ] = Math.pow( 1 - g[ i ] * g[ i ], selectiveness );
+        }
+        return out;
+    }
+    
+    /**
+     * Batch kernel by repeated squaring.
+     * 
+     * @return kernel values
+     */
+    @Benchmark
+    public double[] squaring() {
+        parabolic.eval( selectiveness, g, out );
+        return out;
+    }
+    
+    /**
+     * Batch tabulated kernel.
+     * 
+     * @return kernel values
+     */
+    @Benchmark
+    public double[] table() {
+        tabulated.eval( selectiveness, g, out );
+        return out;
+    }
+    
+}
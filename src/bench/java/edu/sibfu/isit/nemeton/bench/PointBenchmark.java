@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.bench;
+
+import edu.sibfu.isit.nemeton.models.Metric;
+import edu.sibfu.isit.nemeton.models.MutablePoint;
+import edu.sibfu.isit.nemeton.models.Point;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of point arithmetic: immutable {@link Point} operations 
+ * against in-place {@link MutablePoint} ones.
+ * 
+ * @author Max Balushkin
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class PointBenchmark {
+    
+    @Param( { "2", "10", "100" } )
+    private int arity;
+    
+    private Point a;
+    private Point b;
+    private MutablePoint buffer;
+    
+    /**
+     * Creates random operands.
+     */
+    @Setup
+    public void setup() {
+        Random rnd = new Random( 42 );
+        double[] x = new double[ arity ];
+        double[] y = new double[ arity ];
+        for ( int i = 0; i < arity; i++ ) {
+            x[ i ] = rnd.nextDouble();
+            y[ i ] = rnd.nextDouble() + 0.5;
+        }
+        a = new Point( x );
+        b = new Point( y );
+        buffer = new MutablePoint( a );
+    }
+    
+    /**
+     * a + b.
+     * 
+     * @return sum
+     */
+    @Benchmark
+    public Point add() {
+        return a.add( b );
+    }
+    
+    /**
+     * a + b * c, as used by SAC centre update.
+     * 
+     * @return result
+     */
+    @Benchmark
+    public Point addMul() {
+        return a.add( b.mul( 0.5 ) );
+    }
+    
+    /**
+     * |a - b|^2.
+     * 
+     * @return result
+     */
+    @Benchmark
+    public Point subAbsPow() {
+        return a.sub( b ).abs().pow( 2 );
+    }
+    
+    /**
+     * Distance between a and b.
+     * 
+     * @return distance
+     */
+    @Benchmark
+    public double distance() {
+        return a.distance( b );
+    }
+    
+    /**
+     * Threshold check of distance between a and b, 
+     * as used by analysis success check.
+     * 
+     * @return true if points are close
+     */
+    @Benchmark
+    public boolean withinDistance() {
+        return Metric.EUCLIDEAN.withinDistance( a, b, 1E-5 );
+    }
+    
+    /**
+     * a + b * c in place.
+     * 
+     * @return buffer
+     */
+    @Benchmark
+    public Point axpyInPlace() {
+        return buffer.set( a ).axpy( 0.5, b );
+    }
+    
+    /**
+     * a * b in place.
+     * 
+     * @return buffer
+     */
+    @Benchmark
+    public Point mulInPlace() {
+        return buffer.set( a ).mulInPlace( b );
+    }
+    
+}
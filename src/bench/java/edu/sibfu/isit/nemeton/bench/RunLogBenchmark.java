@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.bench;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.RunLog;
+import edu.sibfu.isit.nemeton.models.RunLogWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of reading run log of 2-dimensional trace: opening (block headers 
+ * only) and scanning every value in place.
+ * 
+ * @author Max Balushkin
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class RunLogBenchmark {
+    
+    @Param( { "1000000", "10000000" } )
+    private int points;
+    
+    private Path path;
+    private RunLog log;
+    
+    /**
+     * Writes trace of random points in 10 rows into temporary file.
+     * 
+     * @throws IOException if log can't be written
+     */
+    @Setup
+    public void setup() throws IOException {
+        path = Files.createTempFile( "nemeton", ".nlog" );
+        Random rnd = new Random( 42 );
+        try ( RunLogWriter writer = new RunLogWriter( path ) ) {
+            for ( int i = 0; i < points; i++ ) {
+                writer.point( i % 10, new CalculatedPoint( 
+                    rnd.nextDouble(), rnd.nextDouble(), rnd.nextDouble() 
+                ) );
+            }
+        }
+        log = new RunLog( path );
+    }
+    
+    /**
+     * Closes and removes log.
+     * 
+     * @throws IOException if log can't be removed
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        log.close();
+        Files.delete( path );
+    }
+    
+    /**
+     * Opens and closes log.
+     * 
+     * @return amount of points
+     * @throws IOException if log can't be read
+     */
+    @Benchmark
+    public int open() throws IOException {
+        try ( RunLog opened = new RunLog( path ) ) {
+            return opened.size();
+        }
+    }
+    
+    /**
+     * Reads every value and first coordinate of opened log.
+     * 
+     * @return sum of values
+     */
+    @Benchmark
+    public double scan() {
+        double sum = 0;
+        final int n = log.size();
+        for ( int i = 0; i < n; i++ ) {
+            sum += log.value( i ) + log.coordinate( i, 0 );
+        }
+        return sum;
+    }
+    
+}
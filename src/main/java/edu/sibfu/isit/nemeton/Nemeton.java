@@ -30,15 +30,22 @@ import edu.sibfu.isit.nemeton.algorithms.sac.kernels.CubicKernel;
 import edu.sibfu.isit.nemeton.algorithms.sac.kernels.Kernels;
 import edu.sibfu.isit.nemeton.algorithms.sac.kernels.LinearKernel;
 import edu.sibfu.isit.nemeton.algorithms.sac.kernels.ParabolicKernel;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.TabulatedKernel;
+import edu.sibfu.isit.nemeton.cli.BatchRunner;
 import edu.sibfu.isit.nemeton.controllers.MainController;
 import edu.sibfu.isit.nemeton.controllers.providers.Functions;
 import edu.sibfu.isit.nemeton.lib.FunctionTextFormatter;
 import edu.sibfu.isit.nemeton.models.CalculatedPoint;
 import edu.sibfu.isit.nemeton.framework.Pair;
 import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.RunLog;
 import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import edu.sibfu.isit.nemeton.models.functions.RangeConstraint;
+import edu.sibfu.isit.nemeton.views.HistoryView;
 import edu.sibfu.isit.nemeton.views.MainView;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
 /** 
  *
@@ -47,9 +54,19 @@ import edu.sibfu.isit.nemeton.views.MainView;
 public class Nemeton {
     
     /**
+     * Runs GUI; with {@code --plot <file>...} shows history of run logs,
+     * with other arguments runs headless batch runner.
+     * @see BatchRunner
+     * 
      * @param args the command line arguments
      */
     public static void main(String args[]) {
+        final boolean plot = args.length > 0 && "--plot".equals( args[ 0 ] );
+        if ( args.length > 0 && !plot ) {
+            BatchRunner.main( args );
+            return;
+        }
+        
         /* Set the Windows look and feel */
         //<editor-fold defaultstate="collapsed" desc=" Look and feel setting code (optional) ">
         /* If Nimbus (introduced in Java SE 6) is not available, stay with the default look and feel.
@@ -73,6 +90,11 @@ public class Nemeton {
         }
         //</editor-fold>
         
+        if ( plot ) {
+            plot( Arrays.copyOfRange( args, 1, args.length ) );
+            return;
+        }
+        
         MainView view = new MainView();
         view.setVisible( true );
         MainController ctrl = view.getController();
@@ -86,6 +108,22 @@ public class Nemeton {
         registerKernels();
     }
     
+    /**
+     * Shows history of run logs.
+     * @see RunLog
+     * 
+     * @param aPaths run log paths
+     */
+    private static void plot( String[] aPaths ) {
+        for ( String path : aPaths ) {
+            try ( RunLog log = new RunLog( Paths.get( path ) ) ) {
+                new HistoryView( path, log, true ).setVisible( true );
+            } catch ( IOException ex ) {
+                java.util.logging.Logger.getLogger(Nemeton.class.getName()).log(java.util.logging.Level.SEVERE, null, ex);
+            }
+        }
+    }
+    
     /**
      * Registers algorithm builders.
      */
@@ -101,21 +139,25 @@ public class Nemeton {
         Kernels.register( new LinearKernel() );
         Kernels.register( new ParabolicKernel() );
         Kernels.register( new CubicKernel() );
+        Kernels.register( new TabulatedKernel( new LinearKernel() ) );
+        Kernels.register( new TabulatedKernel( new ParabolicKernel() ) );
+        Kernels.register( new TabulatedKernel( new CubicKernel() ) );
     }
     
     /**
      * Registers functions.
+     * Used by both GUI and headless batch runner.
      */
-    private static void registerFunctions() {        
+    public static void registerFunctions() {
         // 2D Hypersphere
-        new NFunction( ( x, y ) -> x * x + y * y )
+        NFunction.of( ( x, y ) -> x * x + y * y )
             .setTitle( "Гиперсфера" )
             .setText( "I(x_1, x_2) = x_1^2 + x_2^2", FunctionTextFormatter::toHTML )
             .minima( new CalculatedPoint( 0, 0, 0 ) )
             .register();
        
         // Ackley function
-        new NFunction( 
+        NFunction.of( 
             ( x, y ) -> {
                 final double a = 20;
                 final double b = 0.2;
@@ -134,7 +176,7 @@ public class Nemeton {
             .register();
         
         // Adjiman function
-        new NFunction(
+        NFunction.of(
             ( x, y ) -> {
                 final double res = Math.cos( x ) * Math.sin( y ) 
                     - x / ( y * y + 1 );
@@ -148,7 +190,7 @@ public class Nemeton {
             .register();
         
         // Alpine 1 function
-        new NFunction( 
+        NFunction.of( 
             ( x, y ) -> {
                 final double d0 = Math.abs( x * Math.sin( x ) + 0.1 * x );
                 final double d1 = Math.abs( y * Math.sin( y ) + 0.1 * y );
@@ -162,7 +204,7 @@ public class Nemeton {
             .register();
         
         // Bird function
-        new NFunction(
+        NFunction.of(
             ( x, y ) -> {
                 final double p0 = Math.pow( x - y, 2 );
                 final double p1 = Math.exp( Math.pow( 1 - Math.sin( x ), 2) ) * Math.cos( y );
@@ -178,7 +220,7 @@ public class Nemeton {
             .register();
         
         // Branin
-        new NFunction(
+        NFunction.of(
             ( x, y ) -> {
                 double a = Math.pow( -1.275 * ( x * x ) / Math.pow( Math.PI, 2 ) + 5 * x / Math.PI + y - 6, 2 );
                 double b =( 10 - 5.0 / ( 4 * Math.PI ) ) * Math.cos( x );
@@ -194,7 +236,7 @@ public class Nemeton {
             .register();
         
         // Damavandi function
-        new NFunction(
+        NFunction.of(
             ( x, y ) -> {
                 final double p01 = Math.sin( Math.PI * ( x - 2 ) ) * Math.sin( Math.PI * ( y - 2 ) );
                 final double p02 = Math.pow( Math.PI, 2 ) * ( x - 2 ) * ( y - 2 );
@@ -211,7 +253,7 @@ public class Nemeton {
             .register();
        
         // Dropwave
-        new NFunction(
+        NFunction.of(
             ( x, y ) -> {
                 double num = 1 + Math.cos( 12 * Math.sqrt( x * x + y * y ) );
                 double denum = 2 + 0.5 * ( x * x + y * y );
@@ -226,7 +268,7 @@ public class Nemeton {
             .register();
         
         // 3D Griewank function
-        new NFunction( 
+        NFunction.of( 
             ( x, y ) -> {
                 double sum = x * x + y * y;
                 double prod = Math.cos( x / 1 ) * Math.cos( y / Math.sqrt( 2 ) );
@@ -240,17 +282,17 @@ public class Nemeton {
             .register();
 
         // 10D Griewank function
-        new NFunction( 
+        NFunction.of( 
             ( x ) -> {
                 double sum = 0;
                 for ( int i = 0; i < 9; i++ ) {
-                    sum += x.get( i ) * x.get( i );
+                    sum += x[ i ] * x[ i ];
                 }
                 sum /= 4000;
                 
                 double prod = 1;
                 for ( int i = 0; i < 9; i++ ) {
-                    prod *= Math.cos( x.get( i ) / Math.sqrt( i + 1 ) );
+                    prod *= Math.cos( x[ i ] / Math.sqrt( i + 1 ) );
                 }
                 return sum - prod + 1;
             }, 10
@@ -262,7 +304,7 @@ public class Nemeton {
             .register();
        
         // Himmelblau function
-        new NFunction( ( x, y ) 
+        NFunction.of( ( x, y ) 
             -> Math.pow( ( Math.pow( x, 2 ) + y - 11 ), 2 ) 
                 + Math.pow( ( Math.pow( y, 2 ) + x - 7 ), 2 ) )
             .setTitle( "Himmelblau" )
@@ -278,7 +320,7 @@ public class Nemeton {
             .register();
     
         // Rosenbrock function
-        new NFunction( 
+        NFunction.of( 
             ( x, y ) -> 100 * Math.pow( x * x - y, 2 ) + Math.pow( x - 1, 2 )
         )
             .setTitle( "Розенброка" )
@@ -288,11 +330,11 @@ public class Nemeton {
             .register();
         
         // 6D Hypersphere
-        new NFunction( ( x ) 
+        NFunction.of( ( x ) 
             -> {
                 double y = 0;
                 for ( int i = 0; i < 6; i++ ) {
-                    y += Math.pow( x.get( i ), 2 );
+                    y += Math.pow( x[ i ], 2 );
                 }
                 return y;
             }, 6
@@ -302,7 +344,7 @@ public class Nemeton {
         )).register();
         
         // Algorithmic function with four extremums
-        new NFunction( ( x, y ) 
+        NFunction.of( ( x, y ) 
             -> {
                 final double[] parts = new double[ 4 ];
                 parts[ 0 ] = -3 * Math.exp( -3 * ( Math.pow( Math.abs( x - 3 ), 1.5 ) + Math.pow( Math.abs( y ), 1.5) ) );
@@ -319,7 +361,7 @@ public class Nemeton {
         ).setTitle( "Потенциальная" ).register();
         
         // Yet another algorithmic function
-        new NFunction( ( x, y ) 
+        NFunction.of( ( x, y ) 
             -> {
                 final double[] parts = new double[ 10 ];
                 parts[ 0 ] = 6 * Math.pow( Math.abs( x ), 2 ) + 7 * Math.pow( Math.abs( y ), 2 );
@@ -23,11 +23,15 @@
  */
 package edu.sibfu.isit.nemeton.algorithms;
 
+import edu.sibfu.isit.nemeton.lib.random.RandomSource;
+import edu.sibfu.isit.nemeton.models.PointHistory;
 import edu.sibfu.isit.nemeton.models.functions.Constraint;
 import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import edu.sibfu.isit.nemeton.views.BeesSettings;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import javax.swing.JFrame;
 
 /**
@@ -42,6 +46,34 @@ public abstract class AlgorithmBuilder {
      * Function constraints.
      */
     protected final List<Constraint> constraints;
+    /**
+     * Early stop criteria.
+     */
+    protected final List<StopCriterion> criteria;
+    /**
+     * Point history factory.
+     */
+    protected Supplier<PointHistory> history;
+    /**
+     * Random source factory.
+     */
+    protected RandomSource.Factory random;
+    /**
+     * Random seed, null if unseeded.
+     */
+    protected Long seed;
+    /**
+     * Executor of asynchronous mode, null for generational mode.
+     */
+    protected Executor executor;
+    /**
+     * Amount of evaluations in flight in asynchronous mode.
+     */
+    protected int inFlight;
+    /**
+     * Capacity of function values cache, 0 if cache is disabled.
+     */
+    protected int cache;
     
     /**
      * Default constructor.
@@ -49,6 +81,9 @@ public abstract class AlgorithmBuilder {
      */
     protected AlgorithmBuilder() {
         constraints = new ArrayList<>();
+        criteria = new ArrayList<>();
+        history = PointHistory::new;
+        random = RandomSource.SPLITTABLE;
     }
     
     /**
@@ -84,6 +119,104 @@ public abstract class AlgorithmBuilder {
         aConstraints.forEach( ( constr ) -> constraint( constr) );
     }
 
+    /**
+     * Sets point history factory of built algorithms.
+     * @see PointHistory#discarding() 
+     * 
+     * @param aHistory history factory
+     */
+    public void history( Supplier<PointHistory> aHistory ) {
+        history = aHistory;
+    }
+
+    /**
+     * Sets random source factory of built algorithms.
+     * 
+     * @param aRandom random source factory
+     */
+    public void random( RandomSource.Factory aRandom ) {
+        random = aRandom;
+    }
+    
+    /**
+     * Sets asynchronous steady-state mode of built algorithms.
+     * @see OptimizationAlgorithm#async(Executor, int) 
+     * 
+     * @param aExecutor executor, null for generational mode
+     * @param aInFlight amount of evaluations in flight
+     */
+    public void async( Executor aExecutor, int aInFlight ) {
+        executor = aExecutor;
+        inFlight = aInFlight;
+    }
+    
+    /**
+     * Sets function values cache of built algorithms.
+     * @see OptimizationAlgorithm#cache(int) 
+     * 
+     * @param aCapacity cache capacity, 0 disables cache
+     */
+    public void cache( int aCapacity ) {
+        cache = aCapacity;
+    }
+    
+    /**
+     * Sets random seed. Algorithms built with equal seeds produce equal 
+     * results.
+     * 
+     * @param aSeed seed, null for unseeded algorithms
+     */
+    public void seed( Long aSeed ) {
+        seed = aSeed;
+    }
+    
+    /**
+     * Returns random seed.
+     * 
+     * @return seed, null if unseeded
+     */
+    public Long seed() {
+        return seed;
+    }
+    
+    /**
+     * Creates random source for built algorithm.
+     * 
+     * @return random source
+     */
+    public RandomSource newRandom() {
+        return random.create( seed != null ? seed : RandomSource.randomSeed() );
+    }
+    
+    /**
+     * Creates random source of independent stream, e.g. for repeated runs.
+     * @see RandomSource#streamSeed(long, long) 
+     * 
+     * @param aStream stream index
+     * @return random source
+     */
+    public RandomSource newRandom( long aStream ) {
+        return random.create( 
+            seed != null ? RandomSource.streamSeed( seed, aStream ) : RandomSource.randomSeed() 
+        );
+    }
+
+    /**
+     * Adds early stop criterion to built algorithms.
+     * 
+     * @param aCriterion criterion
+     */
+    public void stop( StopCriterion aCriterion ) {
+        criteria.add( aCriterion );
+    }
+    
+    /**
+     * Deletes all early stop criteria.
+     */
+    public void clearStopCriteria() {
+        criteria.clear();
+    }
+
     /**
      * Deletes all contraints.
      */
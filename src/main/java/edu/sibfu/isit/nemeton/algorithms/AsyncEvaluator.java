@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms;
+
+import edu.sibfu.isit.nemeton.framework.Pair;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates function on executor and returns results in order of completion.
+ * Used by steady-state algorithms: each result is handled as soon as it
+ * arrives, so workers are not blocked by the slowest evaluation.
+ * Evaluator is driven by single algorithm thread.
+ * @see OptimizationAlgorithm#async(Executor, int) 
+ * 
+ * @author Max Balushkin
+ * @param <T> type of tag which travels with point, e.g. its origin
+ */
+public class AsyncEvaluator<T> {
+    
+    private final NFunction f;
+    private final CompletionService<Pair<CalculatedPoint, T>> service;
+    private final List<Future<Pair<CalculatedPoint, T>>> futures;
+    
+    /**
+     * Creates new evaluator.
+     * 
+     * @param aFunction evaluated function
+     * @param aExecutor executor
+     */
+    public AsyncEvaluator( NFunction aFunction, Executor aExecutor ) {
+        f = aFunction;
+        service = new ExecutorCompletionService<>( aExecutor );
+        futures = new ArrayList<>();
+    }
+    
+    /**
+     * Submits point to evaluation.
+     * 
+     * @param aPoint point, must not be changed until it is evaluated
+     * @param aTag tag
+     */
+    public void submit( final Point aPoint, final T aTag ) {
+        futures.add( service.submit( 
+            () -> new Pair<>( new CalculatedPoint( f.eval( aPoint ), aPoint ), aTag ) 
+        ) );
+    }
+    
+    /**
+     * Returns amount of submitted points which are not taken yet.
+     * 
+     * @return amount of points
+     */
+    public int pending() {
+        return futures.size();
+    }
+    
+    /**
+     * Waits for next evaluated point.
+     * 
+     * @return evaluated point and its tag
+     * @throws IllegalStateException if nothing is pending or thread is interrupted
+     */
+    public Pair<CalculatedPoint, T> take() {
+        if ( futures.isEmpty() ) {
+            throw new IllegalStateException( "No pending evaluations" );
+        }
+        try {
+            final Future<Pair<CalculatedPoint, T>> future = service.take();
+            futures.remove( future );
+            return future.get();
+        } catch ( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Evaluation is interrupted", ex );
+        } catch ( ExecutionException ex ) {
+            final Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException 
+                ? (RuntimeException) cause : new IllegalStateException( cause );
+        }
+    }
+    
+    /**
+     * Cancels pending evaluations which are not started yet.
+     */
+    public void cancel() {
+        futures.forEach( ( future ) -> future.cancel( false ) );
+        futures.clear();
+    }
+    
+}
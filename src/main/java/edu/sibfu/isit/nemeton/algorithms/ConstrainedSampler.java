@@ -0,0 +1,224 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms;
+
+import edu.sibfu.isit.nemeton.lib.random.RandomSource;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.functions.CompiledConstraints;
+import edu.sibfu.isit.nemeton.models.functions.Constraint;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Samples points uniformly in hypercube around centre subject to constraints.
+ * Range constraints are intersected into single box and hypercube is clipped
+ * by it, so points are drawn directly inside the box: this gives the same
+ * distribution as rejection sampling without rejections. Other constraints
+ * are checked by rejection with limited amount of retries.
+ * 
+ * @author Max Balushkin
+ */
+public class ConstrainedSampler {
+    
+    /**
+     * Default amount of retries for one point.
+     */
+    public static final int DEFAULT_RETRIES = 1000;
+    
+    private final CompiledConstraints constraints;
+    private final double[] lo;
+    private final double[] hi;
+    
+    private final RandomSource rnd;
+    private final int retries;
+    
+    private final double[] buffer;
+    private final Point candidate;
+    
+    private long proposals;
+    private long rejections;
+    
+    /**
+     * Creates sampler.
+     * 
+     * @param aConstraints constraints
+     * @param aArity point arity
+     * @param aRnd random number generator
+     */
+    public ConstrainedSampler( List<Constraint> aConstraints, int aArity, RandomSource aRnd ) {
+        this( new CompiledConstraints( aConstraints, aArity ), aRnd, DEFAULT_RETRIES );
+    }
+    
+    /**
+     * Creates sampler.
+     * 
+     * @param aConstraints compiled constraints
+     * @param aRnd random number generator
+     * @param aRetries amount of retries for one point
+     */
+    public ConstrainedSampler( CompiledConstraints aConstraints, RandomSource aRnd, int aRetries ) {
+        constraints = aConstraints;
+        final int arity = aConstraints.getArity();
+        lo = new double[ arity ];
+        hi = new double[ arity ];
+        for ( int v = 0; v < arity; v++ ) {
+            lo[ v ] = aConstraints.lower( v );
+            hi[ v ] = aConstraints.upper( v );
+        }
+        
+        rnd = aRnd;
+        retries = aRetries;
+        buffer = new double[ arity ];
+        candidate = new Point( buffer );
+    }
+    
+    /**
+     * Samples point in hypercube.
+     * 
+     * @param aCentre centre of hypercube
+     * @param aRadius half of hypercube edge
+     * @param aOut sampled point
+     * @return false if no point satisfying constraints was found
+     */
+    public boolean sample( double[] aCentre, double aRadius, double[] aOut ) {
+        return sample( aCentre, null, aRadius, aOut );
+    }
+    
+    /**
+     * Samples point in hyperbox.
+     * 
+     * @param aCentre centre of hyperbox
+     * @param aRadius half of hyperbox edges
+     * @param aOut sampled point
+     * @return false if no point satisfying constraints was found
+     */
+    public boolean sample( double[] aCentre, double[] aRadius, double[] aOut ) {
+        return sample( aCentre, aRadius, 0, aOut );
+    }
+    
+    /**
+     * Samples point in hyperbox.
+     * 
+     * @param aCentre centre of hyperbox
+     * @param aRadii half of hyperbox edges, if null then aRadius is used
+     * @param aRadius half of hypercube edge
+     * @param aOut sampled point
+     * @return false if no point satisfying constraints was found
+     */
+    private boolean sample( double[] aCentre, double[] aRadii, double aRadius, double[] aOut ) {
+        for ( int attempt = 0; attempt <= retries; attempt++ ) {
+            proposals++;
+            if ( !draw( aCentre, aRadii, aRadius, buffer, 0 ) ) {
+                // Hyperbox does not intersect constraints
+                rejections++;
+                return false;
+            }
+            if ( constraints.checkOthers( candidate ) ) {
+                System.arraycopy( buffer, 0, aOut, 0, buffer.length );
+                return true;
+            }
+            rejections++;
+        }
+        return false;
+    }
+    
+    /**
+     * Samples several points in hyperbox.
+     * All points are drawn inside the box first, then non-range constraints
+     * are checked in one batch, and only rejected points are resampled.
+     * Coordinates of i-th point are stored in [ i * arity, ( i + 1 ) * arity ).
+     * 
+     * @param aCentre centre of hyperbox
+     * @param aRadius half of hyperbox edges
+     * @param aN amount of points
+     * @param aOut flat coordinates of sampled points
+     * @param aFound false for points which weren't found
+     * @return amount of found points
+     */
+    public int sample( double[] aCentre, double[] aRadius, int aN, double[] aOut, boolean[] aFound ) {
+        final int arity = buffer.length;
+        proposals += aN;
+        for ( int i = 0; i < aN; i++ ) {
+            if ( !draw( aCentre, aRadius, 0, aOut, i * arity ) ) {
+                rejections += aN;
+                Arrays.fill( aFound, 0, aN, false );
+                return 0;
+            }
+        }
+        if ( !constraints.hasOthers() ) {
+            Arrays.fill( aFound, 0, aN, true );
+            return aN;
+        }
+        
+        constraints.checkAll( aOut, aN, aFound );
+        int found = 0;
+        for ( int i = 0; i < aN; i++ ) {
+            if ( !aFound[ i ] ) {
+                rejections++;
+                aFound[ i ] = sample( aCentre, aRadius, 0, buffer );
+                if ( aFound[ i ] ) {
+                    System.arraycopy( buffer, 0, aOut, i * arity, arity );
+                }
+            }
+            if ( aFound[ i ] ) {
+                found++;
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Draws point uniformly in hyperbox clipped by range constraints.
+     * 
+     * @param aCentre centre of hyperbox
+     * @param aRadii half of hyperbox edges, if null then aRadius is used
+     * @param aRadius half of hypercube edge
+     * @param aOut output array
+     * @param aOffset offset of point in output array
+     * @return false if hyperbox does not intersect range constraints
+     */
+    private boolean draw( double[] aCentre, double[] aRadii, double aRadius, double[] aOut, int aOffset ) {
+        final int arity = lo.length;
+        for ( int v = 0; v < arity; v++ ) {
+            final double r = aRadii == null ? aRadius : aRadii[ v ];
+            final double a = Math.max( lo[ v ], aCentre[ v ] - r );
+            final double b = Math.min( hi[ v ], aCentre[ v ] + r );
+            if ( a > b ) {
+                return false;
+            }
+            aOut[ aOffset + v ] = a + rnd.nextDouble() * ( b - a );
+        }
+        return true;
+    }
+    
+    /**
+     * Returns share of rejected candidates.
+     * 
+     * @return rejection rate
+     */
+    public double rejectionRate() {
+        return proposals == 0 ? 0 : (double) rejections / proposals;
+    }
+    
+}
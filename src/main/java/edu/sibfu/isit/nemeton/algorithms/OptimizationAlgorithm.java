@@ -23,13 +23,19 @@
  */
 package edu.sibfu.isit.nemeton.algorithms;
 
+import edu.sibfu.isit.nemeton.lib.random.RandomSource;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
 import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.PointHistory;
 import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.functions.CachedFunction;
 import edu.sibfu.isit.nemeton.models.functions.Constraint;
 import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Base class for optimizing algorithms.
@@ -46,6 +52,21 @@ public abstract class OptimizationAlgorithm {
      * Algorithm constraints.
      */
     protected final List<Constraint> constraints;
+    /**
+     * Early stop criteria.
+     */
+    protected final List<StopCriterion> criteria;
+    /**
+     * Amount of function evaluations in current run.
+     */
+    protected int evaluations;
+    
+    private Supplier<PointHistory> history;
+    private RandomSource random;
+    private Executor executor;
+    private int inFlight;
+    private CachedFunction cache;
+    private long misses;
     
     /**
      * Creates new optimization algorithm. 
@@ -55,15 +76,23 @@ public abstract class OptimizationAlgorithm {
     protected OptimizationAlgorithm(final NFunction aFunction) {
         f = aFunction;
         constraints = new ArrayList<>();
+        criteria = new ArrayList<>();
+        history = PointHistory::new;
+        random = RandomSource.SPLITTABLE.create( RandomSource.randomSeed() );
     }
     
     /**
      * Runs algorithm with custom comparator.
+     * Comparator must be a total order, better point goes first; points with
+     * NaN value are ranked last regardless of it. Population-based algorithms
+     * rank points by comparator itself. SAC weights sample points by value, 
+     * so comparator only chooses whether smaller or greater values are better 
+     * and must be monotone in value there.
      * 
-     * @param comparator custom comparator for points
+     * @param comparator custom comparator for calculated points
      * @return result
      */
-    public abstract Result run( Comparator<Point> comparator );
+    public abstract Result run( Comparator<CalculatedPoint> comparator );
     
     /**
      * Adds new constraint to algorithm.
@@ -83,15 +112,247 @@ public abstract class OptimizationAlgorithm {
         aConstraints.forEach((constr) -> constraint(constr));
     }
         
+    /**
+     * Adds early stop criterion.
+     * 
+     * @param aCriterion criterion
+     */
+    public void stop( StopCriterion aCriterion ) {
+        criteria.add( aCriterion );
+    }
+    
+    /**
+     * Adds early stop criteria.
+     * 
+     * @param aCriteria criteria
+     */
+    public void stop( List<StopCriterion> aCriteria ) {
+        criteria.addAll( aCriteria );
+    }
+    
+    /**
+     * Creates state of new run for stop criteria.
+     * 
+     * @param aComparator point comparator
+     * @return run state
+     */
+    protected RunState newRunState( Comparator<CalculatedPoint> aComparator ) {
+        int lookback = 0;
+        for ( StopCriterion c : criteria ) {
+            lookback = Math.max( lookback, c.lookback() );
+        }
+        return new RunState( aComparator, lookback );
+    }
+    
+    /**
+     * Checks stop criteria.
+     * 
+     * @param aState run state
+     * @return end clause of the first met criterion, null if run goes on
+     */
+    protected String checkStop( RunState aState ) {
+        for ( StopCriterion c : criteria ) {
+            final String clause = c.check( aState );
+            if ( clause != null ) {
+                return clause;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Sets point history factory. 
+     * Every run records its points into new history.
+     * 
+     * @param aHistory history factory
+     */
+    public void history( Supplier<PointHistory> aHistory ) {
+        history = aHistory;
+    }
+    
+    /**
+     * Sets random source. 
+     * Source is not thread-safe and must not be shared between algorithms.
+     * 
+     * @param aRandom random source
+     */
+    public void random( RandomSource aRandom ) {
+        random = aRandom;
+    }
+    
+    /**
+     * Returns random source.
+     * 
+     * @return random source
+     */
+    protected RandomSource random() {
+        return random;
+    }
+    
+    /**
+     * Enables asynchronous steady-state mode.
+     * Points are evaluated on executor, algorithm keeps several evaluations
+     * in flight and updates its state as results arrive.
+     * 
+     * @param aExecutor executor, null disables the mode
+     * @param aInFlight amount of evaluations in flight
+     */
+    public void async( Executor aExecutor, int aInFlight ) {
+        executor = aExecutor;
+        inFlight = Math.max( 1, aInFlight );
+    }
+    
+    /**
+     * Is asynchronous steady-state mode enabled?
+     * 
+     * @return true if mode is enabled
+     */
+    protected boolean isAsync() {
+        return executor != null;
+    }
+    
+    /**
+     * Returns executor of asynchronous mode.
+     * 
+     * @return executor, null if mode is disabled
+     */
+    protected Executor executor() {
+        return executor;
+    }
+    
+    /**
+     * Returns amount of evaluations kept in flight in asynchronous mode.
+     * 
+     * @return amount of evaluations
+     */
+    protected int inFlight() {
+        return inFlight;
+    }
+    
+    /**
+     * Enables memoization of function values.
+     * Algorithm evaluates function through its own cache, which is kept 
+     * between runs; only cache misses are counted as evaluations.
+     * @see CachedFunction
+     * 
+     * @param aCapacity maximal amount of cached values, 0 disables cache
+     */
+    public void cache( int aCapacity ) {
+        cache = aCapacity > 0 ? f.cached( aCapacity ) : null;
+        misses = 0;
+    }
+    
+    /**
+     * Returns capacity of function values cache.
+     * 
+     * @return capacity, 0 if cache is disabled
+     */
+    protected int cacheCapacity() {
+        return cache != null ? cache.capacity() : 0;
+    }
+    
+    /**
+     * Adds function evaluations to counter of current run.
+     * If cache is enabled, cache misses since the last call are added 
+     * instead of requested amount.
+     * 
+     * @param aN amount of requested evaluations
+     */
+    protected void count( int aN ) {
+        if ( cache == null ) {
+            evaluations += aN;
+            return;
+        }
+        final long total = cache.misses();
+        evaluations += (int) ( total - misses );
+        misses = total;
+    }
+    
+    /**
+     * Creates evaluator for asynchronous run.
+     * 
+     * @param <T> type of point tag
+     * @return evaluator
+     */
+    protected <T> AsyncEvaluator<T> newAsyncEvaluator() {
+        return new AsyncEvaluator<>( cache != null ? cache : f, executor );
+    }
+    
+    /**
+     * Creates point history for new run.
+     * 
+     * @return empty history
+     */
+    protected PointHistory newHistory() {
+        return history.get();
+    }
+    
+    /**
+     * Evaluates function in point.
+     * 
+     * @param aPoint point
+     * @return point with calculated value
+     */
+    protected CalculatedPoint evaluate( Point aPoint ) {
+        final CalculatedPoint point = new CalculatedPoint( 
+            ( cache != null ? cache : f ).eval( aPoint ), aPoint 
+        );
+        count( 1 );
+        return point;
+    }
+    
+    /**
+     * Evaluates function in several points.
+     * @see NFunction#evalBatch(double[], int, double[]) 
+     * 
+     * @param aCoords flat points coordinates
+     * @param aArity point arity
+     * @param aOut function values
+     */
+    protected void evaluate( double[] aCoords, int aArity, double[] aOut ) {
+        ( cache != null ? cache : f ).evalBatch( aCoords, aArity, aOut );
+        count( aCoords.length / aArity );
+    }
+    
+    /**
+     * Evaluates function in points as single batch.
+     * @see NFunction#evalBatch(double[], int, double[]) 
+     * 
+     * @param aPoints points
+     * @return points with calculated values
+     * @throws IllegalArgumentException if point arity differs from function one
+     */
+    protected List<CalculatedPoint> evaluate( List<? extends Point> aPoints ) {
+        final int n = aPoints.size();
+        final int arity = f.getArity();
+        final double[] coords = new double[ n * arity ];
+        for ( int i = 0; i < n; i++ ) {
+            final double[] x = aPoints.get( i ).get();
+            if ( x.length != arity ) {
+                throw new IllegalArgumentException( 
+                    "Point arity " + x.length + " differs from function arity " + arity 
+                );
+            }
+            System.arraycopy( x, 0, coords, i * arity, arity );
+        }
+        
+        final double[] values = new double[ n ];
+        evaluate( coords, arity, values );
+        
+        final List<CalculatedPoint> points = new ArrayList<>( n );
+        for ( int i = 0; i < n; i++ ) {
+            points.add( new CalculatedPoint( values[ i ], aPoints.get( i ) ) );
+        }
+        return points;
+    }
+        
     /**
      * Minimizes function.
      * 
      * @return result
      */
     public Result minimize() {
-        return run((Point a, Point b) -> {
-            return f.eval(a) > f.eval(b) ? 1 : -1;
-        });
+        return run( Comparator.comparingDouble( CalculatedPoint::getValue ) );
     }
     
     /**
@@ -100,9 +361,7 @@ public abstract class OptimizationAlgorithm {
      * @return result
      */
     public Result maximize() {
-        return run((Point a, Point b) -> {
-            return f.eval(a) > f.eval(b) ? -1 : 1;
-        });
+        return run( Comparator.comparingDouble( CalculatedPoint::getValue ).reversed() );
     }
     
 }
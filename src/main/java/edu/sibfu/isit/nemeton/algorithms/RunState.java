@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import java.util.Comparator;
+
+/**
+ * State of algorithm run observed by stop criteria.
+ * Algorithm updates state once per iteration with its best point.
+ * @see StopCriterion
+ * 
+ * @author Max Balushkin
+ */
+public class RunState {
+    
+    private final Comparator<CalculatedPoint> comparator;
+    private final long start;
+    
+    private int iteration;
+    private int evaluations;
+    private CalculatedPoint best;
+    private int improvedAt;
+    private int firstAt;
+    
+    private final double[] past;
+    
+    /**
+     * Creates state of new run.
+     * 
+     * @param aComparator point comparator, better point goes first
+     * @param aLookback amount of kept past best values
+     * @see StopCriterion#lookback() 
+     */
+    public RunState( Comparator<CalculatedPoint> aComparator, int aLookback ) {
+        comparator = aComparator;
+        past = new double[ aLookback + 1 ];
+        start = System.nanoTime();
+    }
+    
+    /**
+     * Updates state after iteration.
+     * 
+     * @param aIteration amount of finished iterations
+     * @param aEvaluations amount of function evaluations
+     * @param aBest best point found on iteration
+     */
+    public void update( int aIteration, int aEvaluations, CalculatedPoint aBest ) {
+        iteration = aIteration;
+        evaluations = aEvaluations;
+        if ( aBest == null ) {
+            return;
+        }
+        if ( best == null ) {
+            firstAt = aIteration;
+        }
+        if ( best == null || comparator.compare( aBest, best ) < 0 ) {
+            best = aBest;
+            improvedAt = aIteration;
+        }
+        past[ aIteration % past.length ] = best.getValue();
+    }
+    
+    /**
+     * Returns amount of finished iterations.
+     * 
+     * @return iterations
+     */
+    public int iteration() {
+        return iteration;
+    }
+    
+    /**
+     * Returns amount of function evaluations.
+     * 
+     * @return evaluations
+     */
+    public int evaluations() {
+        return evaluations;
+    }
+    
+    /**
+     * Returns time elapsed since run start.
+     * 
+     * @return elapsed time, ms
+     */
+    public long elapsedMillis() {
+        return ( System.nanoTime() - start ) / 1_000_000;
+    }
+    
+    /**
+     * Returns best point found so far.
+     * 
+     * @return best point, null if there is none
+     */
+    public CalculatedPoint best() {
+        return best;
+    }
+    
+    /**
+     * Returns amount of iterations since best point was improved.
+     * 
+     * @return iterations
+     */
+    public int sinceImprovement() {
+        return iteration - improvedAt;
+    }
+    
+    /**
+     * Returns best value several iterations ago.
+     * 
+     * @param aIterations amount of iterations, not greater than lookback
+     * @return best value or NaN if there were not enough iterations
+     */
+    public double bestAgo( int aIterations ) {
+        if ( aIterations >= past.length ) {
+            throw new IllegalArgumentException( "Lookback is too short: " + aIterations );
+        }
+        if ( best == null || iteration - aIterations < firstAt ) {
+            return Double.NaN;
+        }
+        return past[ ( iteration - aIterations ) % past.length ];
+    }
+    
+    /**
+     * Is best value at least as good as specified one?
+     * 
+     * @param aValue value
+     * @return true if best value reached specified one
+     */
+    public boolean reached( double aValue ) {
+        return best != null && comparator.compare( best, new CalculatedPoint( aValue, best ) ) <= 0;
+    }
+    
+}
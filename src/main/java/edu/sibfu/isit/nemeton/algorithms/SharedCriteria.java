@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Stop criteria of run which is split into parallel parts, 
+ * e.g. trajectories or islands.
+ * Parts report their progress into one shared state, so evaluation and 
+ * time budgets apply to the whole run: evaluations of all parts are summed,
+ * iteration is the one of the most advanced part, best point is the best 
+ * of all parts. Once criterion is met, every part stops with its clause.
+ * @see RunState
+ * 
+ * @author Max Balushkin
+ */
+public class SharedCriteria {
+    
+    private final List<StopCriterion> criteria;
+    private final RunState state;
+    private final int[] evaluations;
+    
+    private int iteration;
+    private int total;
+    private String endClause;
+    
+    /**
+     * Creates shared criteria; time is counted from now.
+     * 
+     * @param aCriteria criteria of whole run
+     * @param aComparator point comparator, better point goes first
+     * @param aParts amount of parts
+     */
+    public SharedCriteria( 
+        List<StopCriterion> aCriteria, Comparator<CalculatedPoint> aComparator, int aParts 
+    ) {
+        criteria = new ArrayList<>( aCriteria );
+        int lookback = 0;
+        for ( StopCriterion c : criteria ) {
+            lookback = Math.max( lookback, c.lookback() );
+        }
+        state = new RunState( aComparator, lookback );
+        evaluations = new int[ aParts ];
+    }
+    
+    /**
+     * Returns criterion of run part.
+     * Criterion is checked by part with its own run state.
+     * 
+     * @param aPart part index
+     * @return criterion
+     */
+    public StopCriterion part( final int aPart ) {
+        return ( partState ) -> check( aPart, partState );
+    }
+    
+    /**
+     * Updates shared state with part progress and checks criteria.
+     * 
+     * @param aPart part index
+     * @param aState run state of part
+     * @return end clause if run must be stopped, else null
+     */
+    private synchronized String check( int aPart, RunState aState ) {
+        if ( endClause != null ) {
+            return endClause;
+        }
+        total += aState.evaluations() - evaluations[ aPart ];
+        evaluations[ aPart ] = aState.evaluations();
+        iteration = Math.max( iteration, aState.iteration() );
+        state.update( iteration, total, aState.best() );
+        for ( StopCriterion c : criteria ) {
+            endClause = c.check( state );
+            if ( endClause != null ) {
+                break;
+            }
+        }
+        return endClause;
+    }
+    
+}
@@ -0,0 +1,118 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms;
+
+/**
+ * Criterion of early algorithm stop.
+ * Criteria are immutable and may be shared between runs; everything they
+ * need is kept in per-run {@link RunState}.
+ * 
+ * @author Max Balushkin
+ */
+@FunctionalInterface
+public interface StopCriterion {
+    
+    /**
+     * Checks if run must be stopped.
+     * 
+     * @param aState run state
+     * @return end clause if run must be stopped, else null
+     */
+    String check( RunState aState );
+    
+    /**
+     * Returns amount of past best values criterion needs.
+     * @see RunState#bestAgo(int) 
+     * 
+     * @return amount of iterations
+     */
+    default int lookback() {
+        return 0;
+    }
+    
+    /**
+     * Stops when amount of function evaluations reaches limit.
+     * 
+     * @param aMax maximal amount of evaluations
+     * @return criterion
+     */
+    static StopCriterion maxEvaluations( final int aMax ) {
+        return ( state ) -> state.evaluations() >= aMax ? "по числу вычислений" : null;
+    }
+    
+    /**
+     * Stops when run takes longer than limit.
+     * 
+     * @param aMillis time limit, ms
+     * @return criterion
+     */
+    static StopCriterion wallClock( final long aMillis ) {
+        return ( state ) -> state.elapsedMillis() >= aMillis ? "по времени" : null;
+    }
+    
+    /**
+     * Stops when best point is not improved for several iterations.
+     * 
+     * @param aIterations amount of iterations
+     * @return criterion
+     */
+    static StopCriterion noImprovement( final int aIterations ) {
+        return ( state ) -> state.sinceImprovement() >= aIterations ? "нет улучшений" : null;
+    }
+    
+    /**
+     * Stops when best value is as good as target.
+     * 
+     * @param aValue target value
+     * @return criterion
+     */
+    static StopCriterion target( final double aValue ) {
+        return ( state ) -> state.reached( aValue ) ? "по целевому значению" : null;
+    }
+    
+    /**
+     * Stops when best value changes less than threshold 
+     * over several iterations.
+     * 
+     * @param aIterations amount of iterations
+     * @param aEps threshold
+     * @return criterion
+     */
+    static StopCriterion stagnation( final int aIterations, final double aEps ) {
+        return new StopCriterion() {
+            @Override
+            public String check( RunState aState ) {
+                final double ago = aState.bestAgo( aIterations );
+                return !Double.isNaN( ago ) && Math.abs( aState.best().getValue() - ago ) <= aEps 
+                    ? "по стагнации" : null;
+            }
+
+            @Override
+            public int lookback() {
+                return aIterations;
+            }
+        };
+    }
+    
+}
@@ -25,16 +25,18 @@ package edu.sibfu.isit.nemeton.algorithms.bees;
 
 import edu.sibfu.isit.nemeton.models.PointHistory;
 import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.MutablePoint;
 import edu.sibfu.isit.nemeton.models.Point;
 import edu.sibfu.isit.nemeton.models.Result;
 import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
-import java.util.stream.DoubleStream;
+import edu.sibfu.isit.nemeton.algorithms.AsyncEvaluator;
+import edu.sibfu.isit.nemeton.algorithms.ConstrainedSampler;
 import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.algorithms.RunState;
 import edu.sibfu.isit.nemeton.framework.Pair;
 import edu.sibfu.isit.nemeton.models.functions.Constraint;
 import edu.sibfu.isit.nemeton.models.functions.RangeConstraint;
@@ -54,7 +56,6 @@ import java.util.stream.Stream;
 public class BeesAlgorithm extends OptimizationAlgorithm {
 
     private final int scouts;
-    private final Random rnd;
     
     private Point hivePosition;
     private int hiveSize;
@@ -69,7 +70,8 @@ public class BeesAlgorithm extends OptimizationAlgorithm {
     private final int iterations;
     private final double accuracy;
     
-    private int evaluations;
+    private Migration migration;
+    private int island;
     
     /**
      * Creates new Bees Algorithm object.
@@ -101,21 +103,8 @@ public class BeesAlgorithm extends OptimizationAlgorithm {
         
         iterations = aParams.iterations;
         accuracy = aParams.accuracy;
-        
-        rnd = new Random();
-        
-        evaluations = 0;
     }
     
-    /**
-     * Is algorithm constrained?
-     * 
-     * @return true if constrained, else false
-     */
-    private boolean isConstrained() {
-        return !constraints.isEmpty();
-    }
-
     @Override
     public void constraint( Constraint aConstraint ) {
         if ( aConstraint.getClass() == RangeConstraint.class ) {
@@ -131,151 +120,298 @@ public class BeesAlgorithm extends OptimizationAlgorithm {
     }
     
     /**
-     * Checks is point in specified constraints.
+     * Joins algorithm to island model.
+     * 
+     * @param aMigration exchange of sites
+     * @param aIsland island index
+     */
+    void migration( Migration aMigration, int aIsland ) {
+        migration = aMigration;
+        island = aIsland;
+    }
+    
+    /**
+     * Exchanges best sites with other islands.
+     * Immigrants which violate constraints or duplicate sites are dropped.
      * 
-     * @param aPoint point
-     * @return true if in constraints, else false
+     * @param aPopulation population with selected sites
      */
-    private boolean check( Point aPoint ) {
-        for ( Constraint c : constraints ) {
-            if ( !c.check( aPoint ) ) return false;
+    private void migrate( Population aPopulation ) {
+        migration.emigrate( island, aPopulation.sites() );
+        final List<CalculatedPoint> immigrants = migration.immigrate( island );
+        if ( immigrants == null ) {
+            return;
+        }
+        
+        final List<CalculatedPoint> accepted = new ArrayList<>( immigrants.size() );
+        for ( CalculatedPoint p : immigrants ) {
+            if ( constraints.stream().allMatch( ( c ) -> c.check( p ) ) && !aPopulation.contains( p ) ) {
+                accepted.add( p );
+            }
         }
-        return true;
+        aPopulation.offer( accepted );
+        aPopulation.select();
     }
-
+    
     /**
      * Scouting phase.
+     * Scouts which can't find point satisfying constraints are lost.
      * 
-     * @return random point in global search area
+     * @param aSampler constrained sampler
+     * @return evaluated random points in global search area
      */
-    private List<Point> scouting() {        
-        List<Point> points = new ArrayList<>( sites );            
+    private List<CalculatedPoint> scouting( ConstrainedSampler aSampler ) {        
+        List<Point> points = new ArrayList<>( scouts );            
         final int arity = f.getArity();
+        final double[] hive = Arrays.copyOf( hivePosition.get(), arity );
 
         for ( int i = 0; i < scouts; i++ ) {
-            Point x = Point.zero( arity ).add( hivePosition );
-            for ( int v = 0; v < arity; v++ ) {
-                x = x.add( ( ( rnd.nextDouble() * 2 ) - 1 ) * hiveSize, v );
+            MutablePoint x = new MutablePoint( arity );
+            if ( aSampler.sample( hive, hiveSize, x.get() ) ) {
+                points.add( x );
             }
-
-            if ( isConstrained() && !check( x ) ) { 
-                i--;
-                continue;
+        }
+        return evaluate( points );
+    }
+    
+    /**
+     * Harvesting phase.
+     * Workers are sent to every site: onElite to elite sites, 
+     * onOther to other ones.
+     * 
+     * @param aPopulation population
+     * @param aSampler constrained sampler
+     * @param aSiteSize site size
+     * @return evaluated harvested points
+     */
+    private List<CalculatedPoint> harvest( 
+        Population aPopulation, ConstrainedSampler aSampler, double aSiteSize 
+    ) {
+        final int arity = f.getArity();
+        final List<Point> harvest = new ArrayList<>( 
+            eliteSites * onElite + ( sites - eliteSites ) * onOther 
+        );
+        for ( int i = 0; i < aPopulation.size(); i++ ) {
+            final Point centre = aPopulation.get( i );
+            final int workers = i < eliteSites ? onElite : onOther;
+            for ( int j = 0; j < workers; j++ ) {
+                MutablePoint x = new MutablePoint( arity );
+                if ( aSampler.sample( centre.get(), aSiteSize, x.get() ) 
+                    && !Arrays.equals( x.get(), centre.get() ) 
+                ) {
+                    harvest.add( x );
+                }
             }
-
-            points.add( x );
         }
-        evaluations += scouts;
-        return points;
+        return evaluate( harvest );
     }
     
-    @Override
-    public Result run( final Comparator<Point> aComparator ) {
+    /**
+     * Returns index of site harvested by bee in generation slot.
+     * Slots go in order: bees on elite sites, bees on other sites, scouts.
+     * 
+     * @param aSlot slot in generation
+     * @return site index, -1 for scout
+     */
+    private int siteIndex( int aSlot ) {
+        final int elite = eliteSites * onElite;
+        if ( aSlot < elite ) {
+            return aSlot / onElite;
+        }
+        if ( aSlot < elite + ( sites - eliteSites ) * onOther ) {
+            return eliteSites + ( aSlot - elite ) / onOther;
+        }
+        return -1;
+    }
+    
+    /**
+     * Runs algorithm in asynchronous steady-state mode.
+     * Bees are sent one by one as evaluations complete; every evaluated
+     * point immediately competes for a place among sites. Generation ends
+     * when every bee of generational algorithm has been sent, then site 
+     * size shrinks and stop conditions are checked.
+     * 
+     * @param aComparator point comparator
+     * @param aHistory search history
+     * @return result
+     */
+    private Result runAsync( final Comparator<CalculatedPoint> aComparator, PointHistory aHistory ) {
         double sourceSize = this.siteSize;
-        String endClause = "нет данных";
-        
-        final PointHistory history = new PointHistory();
+        String endClause = iterations > 0 ? null : "по итерациям";
+        evaluations = 0;
+        final RunState state = newRunState( aComparator );
         
-        // Init algorithm
-        List<Point> points = scouting();
-        evaluations += scouts;
-        points.sort( aComparator );
-        points = points.stream().limit( sites ).collect( Collectors.toList() );
-
-        int it = 0;
         final int arity = f.getArity();
+        final ConstrainedSampler sampler = new ConstrainedSampler( constraints, arity, random() );
+        final AsyncEvaluator<Void> evaluator = newAsyncEvaluator();
+        final double[] hive = Arrays.copyOf( hivePosition.get(), arity );
+        final int generation = eliteSites * onElite + ( sites - eliteSites ) * onOther + scouts;
+        final Population population = new Population( sites, eliteSites, aComparator );
         
-        for ( it = 0; it < iterations && sourceSize > accuracy; it++ ) {
-            // Harvest elite sites
-            for ( int i = 0; i < eliteSites; i++ ) {
-                Point centre = points.get( i );
-                for ( int j = 0; j < onElite; j++ ) {
-                    Point x = new Point( centre );
-                    for ( int v = 0; v < arity; v++ ) {
-                        x = x.add( ( ( rnd.nextDouble() * 2 ) - 1 ) * sourceSize, v );
+        int it = 0;
+        int slot = 0;
+        int skipped = 0;
+        try {
+            while ( endClause == null ) {
+                while ( endClause == null && evaluator.pending() < inFlight() && skipped < generation ) {
+                    final int idx = siteIndex( slot++ );
+                    if ( idx < population.size() ) {
+                        final MutablePoint x = new MutablePoint( arity );
+                        final boolean found = idx < 0 
+                            ? sampler.sample( hive, hiveSize, x.get() )
+                            : sampler.sample( population.get( idx ).get(), sourceSize, x.get() ) 
+                                && !Arrays.equals( x.get(), population.get( idx ).get() );
+                        if ( found ) {
+                            evaluator.submit( x, null );
+                            skipped = 0;
+                        } else {
+                            skipped++;
+                        }
+                    } else {
+                        skipped++;
                     }
-                    
-                    if ( !check( x ) ) {
-                        j--;
+                
+                    if ( slot < generation || population.isEmpty() ) {
+                        slot %= generation;
                         continue;
                     }
-                    
-                    if ( !x.equals( centre ) ) {
-                        points.add( x );
+                    slot = 0;
+                    it++;
+                    sourceSize *= gamma;
+                    if ( migration != null && it % migration.interval == 0 ) {
+                        migrate( population );
                     }
-                }
-            }
-            // Harvest other sites
-            for ( int i = eliteSites; i < sites; i++ ) {
-                Point centre = points.get( i );
-                for ( int j = 0; j < onOther; j++ ) {
-                    Point x = new Point( centre );
-                    for ( int v = 0; v < arity; v++ ) {
-                        x = x.add( ( ( rnd.nextDouble() * 2 ) - 1 ) * sourceSize, v );
+                    for ( int i = 0; i < population.elite(); i++ ) {
+                        aHistory.add( i, population.get( i ) );
                     }
-                    
-                    if ( !check( x ) ) {
-                        j--;
-                        continue;
+                    if ( population.eliteDeviation() <= accuracy ) {
+                        endClause = "по точности";
+                        break;
                     }
-                    
-                    if ( !x.equals( centre ) ) {
-                        points.add( x );
+                    state.update( it, evaluations, population.get( 0 ) );
+                    endClause = checkStop( state );
+                    if ( endClause == null && it >= iterations ) {
+                        endClause = "по итерациям";
+                    } else if ( endClause == null && sourceSize <= accuracy ) {
+                        endClause = "по размеру области локального поиска";
                     }
                 }
+                if ( endClause != null ) {
+                    break;
+                }
+                if ( evaluator.pending() == 0 ) {
+                    endClause = "нет допустимых точек";
+                    break;
+                }
+                
+                population.insert( evaluator.take().left() );
+                count( 1 );
+                skipped = 0;
             }
-            // Scouts
-            points.addAll( scouting() );
-            evaluations += sites;
+        } finally {
+            evaluator.cancel();
+        }
+        
+        return result( population, it, endClause, sampler, aHistory );
+    }
+    
+    /**
+     * Creates result of run.
+     * 
+     * @param aPopulation final population
+     * @param aIterations iterations
+     * @param aEndClause end clause
+     * @param aSampler constrained sampler
+     * @param aHistory search history
+     * @return result
+     */
+    private Result result( 
+        Population aPopulation, int aIterations, String aEndClause, 
+        ConstrainedSampler aSampler, PointHistory aHistory 
+    ) {
+        final CalculatedPoint[] solutions = aPopulation.sites().toArray( 
+            new CalculatedPoint[ aPopulation.size() ] 
+        );
+        
+        Result result = new Result( this, f, solutions, aIterations, evaluations, accuracy );
+        result.setEndClause( aEndClause );
+        result.setRejectionRate( aSampler.rejectionRate() );
+        result.setHistory( aHistory );
+        return result;
+    }
+    
+    @Override
+    public Result run( final Comparator<CalculatedPoint> aComparator ) {
+        final PointHistory history = newHistory();
+        try {
+            return isAsync() ? runAsync( aComparator, history ) : runSync( aComparator, history );
+        } finally {
+            history.close();
+        }
+    }
+    
+    /**
+     * Runs algorithm generation by generation.
+     * 
+     * @param aComparator point comparator
+     * @param aHistory search history
+     * @return result
+     */
+    private Result runSync( final Comparator<CalculatedPoint> aComparator, PointHistory aHistory ) {
+        double sourceSize = this.siteSize;
+        String endClause = null;
+        evaluations = 0;
+        final RunState state = newRunState( aComparator );
+        
+        // Init algorithm
+        final ConstrainedSampler sampler = new ConstrainedSampler( constraints, f.getArity(), random() );
+        final Population population = new Population( sites, eliteSites, aComparator );
+        population.offer( scouting( sampler ) );
+        population.select();
+
+        int it = 0;
+        
+        for ( it = 0; it < iterations && sourceSize > accuracy; it++ ) {
+            population.offer( harvest( population, sampler, sourceSize ) );
+            population.offer( scouting( sampler ) );
             sourceSize *= gamma;            
 
-            try {
-                points.sort( aComparator );
-            } catch ( IllegalArgumentException ex ) {
-                points = points.stream().limit( sites ).collect( Collectors.toList() );
-                endClause = "нарушение контракта сортировки";
+            population.select();
+            if ( population.isEmpty() ) {
+                endClause = "нет допустимых точек";
                 break;
             }
-            points = points.stream().limit( sites ).collect( Collectors.toList() );
-            for ( int i = 0; i < eliteSites; i++ ) {
-                Point p = points.get( i );
-                history.add( i, p, f.eval( p ) );
+            if ( migration != null && ( it + 1 ) % migration.interval == 0 ) {
+                migrate( population );
+            }
+            for ( int i = 0; i < population.elite(); i++ ) {
+                aHistory.add( i, population.get( i ) );
             }
             
             // End by accuracy
-            double[] doubles = points
-                .stream()
-                .limit( eliteSites )
-                .mapToDouble( ( point ) -> f.eval( point ) ).toArray();
-            
-            double avg = DoubleStream.of( doubles ).average().getAsDouble();
-            double stdDev = Math.sqrt(
-                    DoubleStream.of( doubles ).reduce( 0, ( a, b ) -> a + Math.pow( b - avg, 2 ) ) / eliteSites
-            );
-            
-            if ( stdDev <= accuracy ) {
+            if ( population.eliteDeviation() <= accuracy ) {
                 endClause = "по точности";
                 break;
             }
+            
+            state.update( it + 1, evaluations, population.get( 0 ) );
+            endClause = checkStop( state );
+            if ( endClause != null ) {
+                break;
+            }
         }
         
-        if ( it == iterations ) {
-            endClause = "по итерациям";
-        } else if ( sourceSize <= accuracy ) {
-            endClause = "по размеру области локального поиска";
-        }
-        
-        final CalculatedPoint[] solutions = new CalculatedPoint[ points.size() ];
-        final int n = points.size();
-        for ( int i = 0; i < n; i++ ) {
-            Point x = points.get( i );
-            solutions[ i ] = new CalculatedPoint( f.eval( x ), x );
+        if ( endClause == null ) {
+            if ( it == iterations ) {
+                endClause = "по итерациям";
+            } else if ( sourceSize <= accuracy ) {
+                endClause = "по размеру области локального поиска";
+            } else {
+                endClause = "нет данных";
+            }
         }
         
-        Result result = new Result( this, f, solutions, it, evaluations, accuracy );
-        result.setEndClause( endClause );
-        result.setHistory( history );
-        return result;
+        return result( population, it, endClause, sampler, aHistory );
     }
    
     @Override
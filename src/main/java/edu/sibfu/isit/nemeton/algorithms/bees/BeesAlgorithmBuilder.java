@@ -29,6 +29,8 @@ import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import edu.sibfu.isit.nemeton.views.BeesSettings;
 import javax.swing.JFrame;
 import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Bees Algorithm builder.
@@ -46,11 +48,15 @@ import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
  *      Maximum iterations: 100000
  *      Accuracy (epsilon): 1E-5
  * 
+ *      Islands: 1
+ *      Migration interval: 10
+ *      Migrants: 2
+ * 
  * @author Max Balushkin
  */
 public class BeesAlgorithmBuilder extends AlgorithmBuilder {
     
-    private BeesSettings settingsView;
+    private JFrame settingsView;
     
     private Point hivePosition = Point.zero( 2 );
     private int hiveSize = 50;
@@ -68,6 +74,11 @@ public class BeesAlgorithmBuilder extends AlgorithmBuilder {
     private int maxIteration = 100000;
     private double accuracy = 1E-5;
     private boolean constrained = true;
+    
+    private int islands = 1;
+    private int migrationInterval = 10;
+    private int migrants = 2;
+    private List<Point> islandPositions = new ArrayList<>();
 
     /**
      * Creates new builder with default parameters.
@@ -308,6 +319,84 @@ public class BeesAlgorithmBuilder extends AlgorithmBuilder {
     public boolean isConstrained() {
         return constrained;
     }
+    
+    /**
+     * Sets amount of islands (hives), 1 means plain Bees Algorithm.
+     * @see BeesIslands
+     * 
+     * @param aIslands amount of islands
+     * @return self
+     */
+    public BeesAlgorithmBuilder islands( int aIslands ) {
+        islands = aIslands;
+        return this;
+    }
+    /**
+     * Returns amount of islands.
+     * 
+     * @return amount of islands
+     */
+    public int islands() {
+        return islands;
+    }
+    
+    /**
+     * Sets migration interval between islands.
+     * 
+     * @param aIterations interval, iterations
+     * @return self
+     */
+    public BeesAlgorithmBuilder migrationInterval( int aIterations ) {
+        migrationInterval = aIterations;
+        return this;
+    }
+    /**
+     * Returns migration interval between islands.
+     * 
+     * @return interval, iterations
+     */
+    public int migrationInterval() {
+        return migrationInterval;
+    }
+    
+    /**
+     * Sets amount of elite sites migrating to next island.
+     * 
+     * @param aMigrants amount of sites
+     * @return self
+     */
+    public BeesAlgorithmBuilder migrants( int aMigrants ) {
+        migrants = aMigrants;
+        return this;
+    }
+    /**
+     * Returns amount of migrating sites.
+     * 
+     * @return amount of sites
+     */
+    public int migrants() {
+        return migrants;
+    }
+    
+    /**
+     * Sets hive positions of islands.
+     * Islands without position use common hive position.
+     * 
+     * @param aPositions hive positions
+     * @return self
+     */
+    public BeesAlgorithmBuilder islandPositions( List<Point> aPositions ) {
+        islandPositions = new ArrayList<>( aPositions );
+        return this;
+    }
+    /**
+     * Returns hive positions of islands.
+     * 
+     * @return hive positions
+     */
+    public List<Point> islandPositions() {
+        return islandPositions;
+    }
    
     /**
      * Copies parameters from another builder.
@@ -326,12 +415,24 @@ public class BeesAlgorithmBuilder extends AlgorithmBuilder {
         gamma = aSrc.gamma;
         maxIteration = aSrc.maxIteration;
         accuracy = aSrc.accuracy;
+        history = aSrc.history;
+        random = aSrc.random;
+        seed = aSrc.seed;
+        executor = aSrc.executor;
+        inFlight = aSrc.inFlight;
+        cache = aSrc.cache;
+        islands = aSrc.islands;
+        migrationInterval = aSrc.migrationInterval;
+        migrants = aSrc.migrants;
+        islandPositions = new ArrayList<>( aSrc.islandPositions );
+        criteria.clear();
+        criteria.addAll( aSrc.criteria );
     }
 
     @Override
     public JFrame show() {
         if (settingsView == null) {
-            settingsView = new BeesSettings( this );
+            settingsView = BeesSettings.create( this );
         }
         return settingsView;
     }
@@ -342,8 +443,26 @@ public class BeesAlgorithmBuilder extends AlgorithmBuilder {
             hivePosition, hiveSize, sources, scouts, eliteSources, 
             sourceSize, gamma, onElite, onOther, maxIteration, accuracy
         );
-        BeesAlgorithm alg = new BeesAlgorithm( aFunction, params );
+        final OptimizationAlgorithm alg;
+        if ( islands > 1 ) {
+            final List<BeesAlgorithmParameters> hives = new ArrayList<>( islands );
+            for ( int i = 0; i < islands; i++ ) {
+                hives.add( new BeesAlgorithmParameters(
+                    i < islandPositions.size() ? islandPositions.get( i ) : hivePosition, 
+                    hiveSize, sources, scouts, eliteSources, 
+                    sourceSize, gamma, onElite, onOther, maxIteration, accuracy
+                ) );
+            }
+            alg = new BeesIslands( aFunction, hives, migrationInterval, migrants, random );
+        } else {
+            alg = new BeesAlgorithm( aFunction, params );
+        }
         alg.constraint( constraints );
+        alg.history( history );
+        alg.stop( criteria );
+        alg.random( newRandom() );
+        alg.async( executor, inFlight );
+        alg.cache( cache );
         return alg;
     }
 
@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.bees;
+
+import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.algorithms.SharedCriteria;
+import edu.sibfu.isit.nemeton.lib.random.RandomSource;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.HistorySink;
+import edu.sibfu.isit.nemeton.models.HistoryWindow;
+import edu.sibfu.isit.nemeton.models.PointHistory;
+import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Island model of Bees Algorithm.
+ * Every island is a hive with its own position and sites, islands run 
+ * in parallel and exchange elite sites on migration interval.
+ * Result contains best sites of all islands; history keeps elite rows 
+ * of island k after rows of island k - 1.
+ * Stop criteria apply to the whole run: evaluations of all islands 
+ * are summed against one budget.
+ * @see BeesAlgorithm
+ * @see Migration
+ * 
+ * @author Max Balushkin
+ */
+public class BeesIslands extends OptimizationAlgorithm {
+    
+    private final List<BeesAlgorithmParameters> islands;
+    private final int interval;
+    private final int migrants;
+    private final RandomSource.Factory streams;
+    
+    /**
+     * Creates new island model.
+     * 
+     * @param aFunction optimized function
+     * @param aIslands parameters of islands
+     * @param aInterval migration interval, iterations
+     * @param aMigrants amount of migrating sites
+     * @param aStreams random source factory of islands
+     */
+    public BeesIslands( 
+        NFunction aFunction, List<BeesAlgorithmParameters> aIslands,
+        int aInterval, int aMigrants, RandomSource.Factory aStreams
+    ) {
+        super( aFunction );
+        islands = aIslands;
+        interval = aInterval;
+        migrants = aMigrants;
+        streams = aStreams;
+    }
+    
+    @Override
+    public Result run( Comparator<CalculatedPoint> aComparator ) {
+        final int n = islands.size();
+        final Migration migration = new Migration( n, interval, migrants );
+        final long seed = random().nextLong();
+        final PointHistory history = newHistory();
+        try {
+            final SharedCriteria stop = new SharedCriteria( criteria, aComparator, n );
+            final BeesAlgorithm[] hives = new BeesAlgorithm[ n ];
+            int offset = 0;
+            for ( int i = 0; i < n; i++ ) {
+                final HistorySink sink = history.offset( offset );
+                hives[ i ] = new BeesAlgorithm( f, islands.get( i ) );
+                hives[ i ].constraint( constraints );
+                hives[ i ].stop( stop.part( i ) );
+                hives[ i ].history( () -> new PointHistory( HistoryWindow.NONE, sink ) );
+                hives[ i ].random( streams.create( RandomSource.streamSeed( seed, i ) ) );
+                hives[ i ].migration( migration, i );
+                hives[ i ].async( executor(), inFlight() );
+                hives[ i ].cache( cacheCapacity() );
+                offset += islands.get( i ).eliteSites;
+            }
+            
+            final Result[] results = new Result[ n ];
+            IntStream.range( 0, n ).parallel().forEach( ( i ) -> {
+                results[ i ] = hives[ i ].run( aComparator );
+            } );
+            
+            final Set<CalculatedPoint> distinct = new LinkedHashSet<>();
+            int iterations = 0;
+            int evaluations = 0;
+            double rejections = 0;
+            Result best = null;
+            for ( Result res : results ) {
+                iterations = Math.max( iterations, res.getIterations() );
+                evaluations += res.getEvaluations();
+                rejections += res.getRejectionRate();
+                distinct.addAll( Arrays.asList( res.getValues() ) );
+                if ( res.getValues().length > 0 && ( best == null 
+                    || aComparator.compare( res.getValues()[ 0 ], best.getValues()[ 0 ] ) < 0 ) 
+                ) {
+                    best = res;
+                }
+            }
+            final List<CalculatedPoint> points = new ArrayList<>( distinct );
+            this.evaluations = evaluations;
+            points.sort( aComparator );
+            
+            final BeesAlgorithmParameters params = islands.get( 0 );
+            final List<CalculatedPoint> solutions = points.subList( 0, Math.min( params.sites, points.size() ) );
+            final Result result = new Result( 
+                this, f, solutions.toArray( new CalculatedPoint[ solutions.size() ] ), 
+                iterations, evaluations, params.accuracy 
+            );
+            result.setEndClause( best != null ? best.getEndClause() : "нет допустимых точек" );
+            result.setRejectionRate( rejections / n );
+            result.setHistory( history );
+            return result;
+        } finally {
+            history.close();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "Пчелиный алгоритм (острова)";
+    }
+    
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.bees;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free exchange of elite sites between islands.
+ * Islands form a ring: island sends its sites to the next one.
+ * Every island has a mailbox with the latest unread batch only,
+ * so fast island never floods slow one.
+ * @see BeesIslands
+ * 
+ * @author Max Balushkin
+ */
+class Migration {
+    
+    /**
+     * Migration interval, iterations.
+     */
+    final int interval;
+    /**
+     * Amount of migrating sites.
+     */
+    final int migrants;
+    
+    private final AtomicReferenceArray<List<CalculatedPoint>> mailboxes;
+    
+    /**
+     * Creates new exchange.
+     * 
+     * @param aIslands amount of islands
+     * @param aInterval migration interval, iterations
+     * @param aMigrants amount of migrating sites
+     */
+    Migration( int aIslands, int aInterval, int aMigrants ) {
+        interval = aInterval;
+        migrants = aMigrants;
+        mailboxes = new AtomicReferenceArray<>( aIslands );
+    }
+    
+    /**
+     * Sends best sites to the next island.
+     * 
+     * @param aIsland island index
+     * @param aSites sorted sites, better goes first
+     */
+    void emigrate( int aIsland, List<CalculatedPoint> aSites ) {
+        final List<CalculatedPoint> batch = new ArrayList<>( 
+            aSites.subList( 0, Math.min( migrants, aSites.size() ) ) 
+        );
+        mailboxes.set( ( aIsland + 1 ) % mailboxes.length(), batch );
+    }
+    
+    /**
+     * Takes sites sent to island.
+     * 
+     * @param aIsland island index
+     * @return sites, null if there are none
+     */
+    List<CalculatedPoint> immigrate( int aIsland ) {
+        return mailboxes.getAndSet( aIsland, null );
+    }
+    
+}
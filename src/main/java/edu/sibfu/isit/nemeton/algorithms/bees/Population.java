@@ -0,0 +1,278 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.bees;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Evaluated population of Bees Algorithm.
+ * Sites are kept sorted, better goes first; first sites are elite ones.
+ * Harvested points and scouts are offered as already evaluated candidates 
+ * and compete for sites on selection, so every point is evaluated once.
+ * @see BeesAlgorithm
+ * 
+ * @author Max Balushkin
+ */
+class Population {
+    
+    private final int capacity;
+    private final int eliteCapacity;
+    private final Comparator<CalculatedPoint> order;
+    
+    private final List<CalculatedPoint> sites;
+    private final List<CalculatedPoint> candidates;
+    
+    private final int[] heap;
+    private final CalculatedPoint[] selected;
+    
+    /**
+     * Creates empty population.
+     * Sites are ranked by comparator, points with NaN value go last.
+     * 
+     * @param aSites amount of sites
+     * @param aEliteSites amount of elite sites
+     * @param aComparator point comparator, better point goes first
+     */
+    Population( int aSites, int aEliteSites, Comparator<CalculatedPoint> aComparator ) {
+        capacity = aSites;
+        eliteCapacity = aEliteSites;
+        order = ( a, b ) -> {
+            final boolean aNaN = Double.isNaN( a.getValue() );
+            final boolean bNaN = Double.isNaN( b.getValue() );
+            return aNaN || bNaN ? Boolean.compare( aNaN, bNaN ) : aComparator.compare( a, b );
+        };
+        sites = new ArrayList<>( aSites + 1 );
+        candidates = new ArrayList<>();
+        heap = new int[ aSites ];
+        selected = new CalculatedPoint[ aSites ];
+    }
+    
+    /**
+     * Offers evaluated candidates for next selection.
+     * 
+     * @param aCandidates candidates
+     */
+    void offer( List<CalculatedPoint> aCandidates ) {
+        candidates.addAll( aCandidates );
+    }
+    
+    /**
+     * Selects best sites among sites and offered candidates.
+     * Bounded heap keeps best sites while candidates are scanned, so
+     * selection takes O( n log k ) without sorting all candidates.
+     * Ties are stable: earlier site or candidate wins.
+     */
+    void select() {
+        sites.addAll( candidates );
+        candidates.clear();
+        final int n = sites.size();
+        
+        // Max-heap of selected indices, worst selected site is on top
+        int size = 0;
+        for ( int i = 0; i < n; i++ ) {
+            if ( size < capacity ) {
+                heap[ size ] = i;
+                siftUp( size++ );
+            } else if ( !after( i, heap[ 0 ] ) ) {
+                heap[ 0 ] = i;
+                siftDown( 0, size );
+            }
+        }
+        
+        // Heap sort of selected indices, best goes first
+        for ( int last = size - 1; last > 0; last-- ) {
+            final int top = heap[ 0 ];
+            heap[ 0 ] = heap[ last ];
+            heap[ last ] = top;
+            siftDown( 0, last );
+        }
+        for ( int i = 0; i < size; i++ ) {
+            selected[ i ] = sites.get( heap[ i ] );
+        }
+        sites.clear();
+        for ( int i = 0; i < size; i++ ) {
+            sites.add( selected[ i ] );
+            selected[ i ] = null;
+        }
+    }
+    
+    /**
+     * Inserts evaluated point if it is better than some site.
+     * Point goes after equally ranked sites.
+     * 
+     * @param aPoint point
+     */
+    void insert( CalculatedPoint aPoint ) {
+        int pos = sites.size();
+        while ( pos > 0 && order.compare( aPoint, sites.get( pos - 1 ) ) < 0 ) {
+            pos--;
+        }
+        if ( pos < capacity ) {
+            sites.add( pos, aPoint );
+            if ( sites.size() > capacity ) {
+                sites.remove( capacity );
+            }
+        }
+    }
+    
+    /**
+     * Is site i selected after site j?
+     * 
+     * @param i site index
+     * @param j site index
+     * @return true if site i is worse or equal and later
+     */
+    private boolean after( int i, int j ) {
+        final int cmp = order.compare( sites.get( i ), sites.get( j ) );
+        return cmp > 0 || cmp == 0 && i > j;
+    }
+    
+    /**
+     * Moves heap element up.
+     * 
+     * @param aPos element position
+     */
+    private void siftUp( int aPos ) {
+        int pos = aPos;
+        final int idx = heap[ pos ];
+        while ( pos > 0 ) {
+            final int parent = ( pos - 1 ) >>> 1;
+            if ( !after( idx, heap[ parent ] ) ) {
+                break;
+            }
+            heap[ pos ] = heap[ parent ];
+            pos = parent;
+        }
+        heap[ pos ] = idx;
+    }
+    
+    /**
+     * Moves heap element down.
+     * 
+     * @param aPos element position
+     * @param aSize heap size
+     */
+    private void siftDown( int aPos, int aSize ) {
+        int pos = aPos;
+        final int idx = heap[ pos ];
+        while ( true ) {
+            int child = 2 * pos + 1;
+            if ( child >= aSize ) {
+                break;
+            }
+            if ( child + 1 < aSize && after( heap[ child + 1 ], heap[ child ] ) ) {
+                child++;
+            }
+            if ( !after( heap[ child ], idx ) ) {
+                break;
+            }
+            heap[ pos ] = heap[ child ];
+            pos = child;
+        }
+        heap[ pos ] = idx;
+    }
+    
+    /**
+     * Is there a site in point?
+     * 
+     * @param aPoint point
+     * @return true if site is found
+     */
+    boolean contains( Point aPoint ) {
+        return sites.stream().anyMatch( ( p ) -> Arrays.equals( p.get(), aPoint.get() ) );
+    }
+    
+    /**
+     * Returns amount of sites.
+     * 
+     * @return amount of sites
+     */
+    int size() {
+        return sites.size();
+    }
+    
+    /**
+     * Returns amount of elite sites.
+     * 
+     * @return amount of elite sites
+     */
+    int elite() {
+        return Math.min( eliteCapacity, sites.size() );
+    }
+    
+    /**
+     * Is population empty?
+     * 
+     * @return true if there are no sites
+     */
+    boolean isEmpty() {
+        return sites.isEmpty();
+    }
+    
+    /**
+     * Returns site.
+     * 
+     * @param aIdx site index
+     * @return site
+     */
+    CalculatedPoint get( int aIdx ) {
+        return sites.get( aIdx );
+    }
+    
+    /**
+     * Returns sites.
+     * 
+     * @return unmodifiable sites, better goes first
+     */
+    List<CalculatedPoint> sites() {
+        return Collections.unmodifiableList( sites );
+    }
+    
+    /**
+     * Calculates standard deviation of elite sites values.
+     * 
+     * @return standard deviation
+     */
+    double eliteDeviation() {
+        final int n = elite();
+        double avg = 0;
+        for ( int i = 0; i < n; i++ ) {
+            avg += sites.get( i ).getValue();
+        }
+        avg /= n;
+        double sum = 0;
+        for ( int i = 0; i < n; i++ ) {
+            final double d = sites.get( i ).getValue() - avg;
+            sum += d * d;
+        }
+        return Math.sqrt( sum / eliteCapacity );
+    }
+    
+}
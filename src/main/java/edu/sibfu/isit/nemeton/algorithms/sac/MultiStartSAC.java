@@ -0,0 +1,272 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.sac;
+
+import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.algorithms.SharedCriteria;
+import edu.sibfu.isit.nemeton.algorithms.StopCriterion;
+import edu.sibfu.isit.nemeton.lib.random.RandomSource;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.HistorySink;
+import edu.sibfu.isit.nemeton.models.HistoryWindow;
+import edu.sibfu.isit.nemeton.models.Metric;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.PointHistory;
+import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.functions.CompiledConstraints;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-start SAC.
+ * Runs several independent SAC trajectories from Latin hypercube of start 
+ * centres in parallel. Trajectories publish their best values lock-free 
+ * and trajectory which is worse than half of others is culled.
+ * Result contains all distinct optima, best goes first;
+ * history keeps points of every trajectory in separate row.
+ * Stop criteria apply to the whole run: evaluations of all trajectories 
+ * are summed against one budget.
+ * @see SACAlgorithm
+ * 
+ * @author Max Balushkin
+ */
+public class MultiStartSAC extends OptimizationAlgorithm {
+
+    private final SACAlgorithmParameters params;
+    private final int starts;
+    private final int cullAfter;
+    private final double distance;
+    private final RandomSource.Factory streams;
+    
+    /**
+     * Creates new multi-start SAC.
+     * Culling makes result depend on trajectory timing, 
+     * so seeded runs are reproducible only without it.
+     * 
+     * @param aFunction optimized function
+     * @param aParams parameters of trajectories, centre and search range 
+     *  define start area if function is not constrained
+     * @param aStarts amount of trajectories
+     * @param aCullAfter iterations before trajectory may be culled, 
+     *  0 disables culling
+     * @param aDistance minimal distance between distinct optima
+     * @param aStreams random source factory of trajectories
+     */
+    public MultiStartSAC( 
+        NFunction aFunction, SACAlgorithmParameters aParams, 
+        int aStarts, int aCullAfter, double aDistance,
+        RandomSource.Factory aStreams
+    ) {
+        super( aFunction );
+        params = aParams;
+        starts = aStarts;
+        cullAfter = aCullAfter;
+        distance = aDistance;
+        streams = aStreams;
+    }
+    
+    /**
+     * Generates start centres as Latin hypercube: 
+     * every axis is split into equal strata, each stratum is used once.
+     * 
+     * @param aLower lower bounds of start area
+     * @param aUpper upper bounds of start area
+     * @return start centres
+     */
+    private Point[] startCentres( double[] aLower, double[] aUpper ) {
+        final RandomSource random = random();
+        final int arity = aLower.length;
+        final double[][] centres = new double[ starts ][ arity ];
+        final int[] strata = new int[ starts ];
+        for ( int v = 0; v < arity; v++ ) {
+            for ( int i = 0; i < starts; i++ ) {
+                strata[ i ] = i;
+            }
+            for ( int i = starts - 1; i > 0; i-- ) {
+                final int j = random.nextInt( i + 1 );
+                final int t = strata[ i ];
+                strata[ i ] = strata[ j ];
+                strata[ j ] = t;
+            }
+            final double width = ( aUpper[ v ] - aLower[ v ] ) / starts;
+            for ( int i = 0; i < starts; i++ ) {
+                centres[ i ][ v ] = aLower[ v ] + ( strata[ i ] + random.nextDouble() ) * width;
+            }
+        }
+        
+        final Point[] points = new Point[ starts ];
+        for ( int i = 0; i < starts; i++ ) {
+            points[ i ] = new Point( centres[ i ] );
+        }
+        return points;
+    }
+    
+    /**
+     * Creates criterion which publishes trajectory best value 
+     * and culls dominated trajectory.
+     * Trajectory is dominated if more than half of published values 
+     * are better than its best one by more than accuracy.
+     * 
+     * @param aBests published best values, as double bits
+     * @param aIdx trajectory index
+     * @param aComparator point comparator
+     * @return criterion
+     */
+    private StopCriterion cull( 
+        AtomicLongArray aBests, int aIdx, Comparator<CalculatedPoint> aComparator 
+    ) {
+        return ( state ) -> {
+            final CalculatedPoint best = state.best();
+            aBests.set( aIdx, Double.doubleToRawLongBits( best.getValue() ) );
+            if ( cullAfter <= 0 || state.iteration() < cullAfter ) {
+                return null;
+            }
+            
+            int published = 0;
+            int better = 0;
+            for ( int i = 0; i < starts; i++ ) {
+                final double value = Double.longBitsToDouble( aBests.get( i ) );
+                if ( i == aIdx || Double.isNaN( value ) ) {
+                    continue;
+                }
+                published++;
+                if ( Math.abs( value - best.getValue() ) > params.accuracy
+                    && aComparator.compare( new CalculatedPoint( value, best ), best ) < 0 
+                ) {
+                    better++;
+                }
+            }
+            return published > 0 && 2 * better > published ? "отсечена" : null;
+        };
+    }
+    
+    /**
+     * Creates trajectory.
+     * Trajectory keeps no history, its points go straight into sink.
+     * 
+     * @param aCentre start centre
+     * @param aStop criterion of shared run budget
+     * @param aCull culling criterion
+     * @param aSink history sink
+     * @param aSeed random seed
+     * @return SAC algorithm
+     */
+    private SACAlgorithm trajectory( 
+        Point aCentre, StopCriterion aStop, StopCriterion aCull, HistorySink aSink, long aSeed 
+    ) {
+        final SACAlgorithm alg = new SACAlgorithm( f, new SACAlgorithmParameters(
+            aCentre, params.searchRange, params.sampleSize, params.gamma, params.metric,
+            params.kernel, params.selectiveness, params.iterations, params.accuracy
+        ) );
+        alg.constraint( constraints );
+        alg.stop( aStop );
+        alg.stop( aCull );
+        alg.history( () -> new PointHistory( HistoryWindow.NONE, aSink ) );
+        alg.random( streams.create( aSeed ) );
+        alg.async( executor(), inFlight() );
+        alg.cache( cacheCapacity() );
+        return alg;
+    }
+    
+    @Override
+    public Result run( Comparator<CalculatedPoint> comparator ) {
+        final int arity = params.centre.getArity();
+        final double[] lower = new double[ arity ];
+        final double[] upper = new double[ arity ];
+        final CompiledConstraints box = new CompiledConstraints( constraints, arity );
+        for ( int v = 0; v < arity; v++ ) {
+            final double lo = box.lower( v );
+            final double hi = box.upper( v );
+            lower[ v ] = Double.isInfinite( lo ) ? params.centre.get( v ) - params.searchRange : lo;
+            upper[ v ] = Double.isInfinite( hi ) ? params.centre.get( v ) + params.searchRange : hi;
+        }
+        
+        final Point[] centres = startCentres( lower, upper );
+        final long seed = random().nextLong();
+        final AtomicLongArray bests = new AtomicLongArray( starts );
+        for ( int i = 0; i < starts; i++ ) {
+            bests.set( i, Double.doubleToRawLongBits( Double.NaN ) );
+        }
+        final PointHistory history = newHistory();
+        try {
+            final SharedCriteria stop = new SharedCriteria( criteria, comparator, starts );
+            final SACAlgorithm[] trajectories = new SACAlgorithm[ starts ];
+            for ( int i = 0; i < starts; i++ ) {
+                trajectories[ i ] = trajectory( 
+                    centres[ i ], stop.part( i ), cull( bests, i, comparator ), 
+                    history.offset( i ), RandomSource.streamSeed( seed, i ) 
+                );
+            }
+            
+            final Result[] results = new Result[ starts ];
+            IntStream.range( 0, starts ).parallel().forEach( ( i ) -> {
+                results[ i ] = trajectories[ i ].run( comparator );
+            } );
+            
+            final List<Result> survived = new ArrayList<>();
+            int iterations = 0;
+            int evaluations = 0;
+            double rejections = 0;
+            for ( Result res : results ) {
+                iterations = Math.max( iterations, res.getIterations() );
+                evaluations += res.getEvaluations();
+                rejections += res.getRejectionRate();
+                if ( !"отсечена".equals( res.getEndClause() ) ) {
+                    survived.add( res );
+                }
+            }
+            this.evaluations = evaluations;
+            survived.sort( ( a, b ) -> comparator.compare( a.getValues()[ 0 ], b.getValues()[ 0 ] ) );
+            
+            final List<CalculatedPoint> optima = new ArrayList<>();
+            for ( Result res : survived ) {
+                final CalculatedPoint p = res.getValues()[ 0 ];
+                if ( optima.stream().noneMatch( ( o ) -> Metric.EUCLIDEAN.withinDistance( o, p, distance ) ) ) {
+                    optima.add( p );
+                }
+            }
+            
+            final Result result = new Result(
+                this, f, optima.toArray( new CalculatedPoint[ optima.size() ] ),
+                iterations, evaluations, params.accuracy
+            );
+            result.setEndClause( survived.isEmpty() ? "нет данных" : survived.get( 0 ).getEndClause() );
+            result.setRejectionRate( rejections / starts );
+            result.setHistory( history );
+            return result;
+        } finally {
+            history.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Селективное усреднение координат (мультистарт)";
+    }
+    
+}
@@ -23,18 +23,19 @@
  */
 package edu.sibfu.isit.nemeton.algorithms.sac;
 
+import edu.sibfu.isit.nemeton.algorithms.AsyncEvaluator;
+import edu.sibfu.isit.nemeton.algorithms.ConstrainedSampler;
 import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.algorithms.RunState;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.SelectiveKernel;
 import edu.sibfu.isit.nemeton.models.PointHistory;
 import edu.sibfu.isit.nemeton.models.CalculatedPoint;
-import edu.sibfu.isit.nemeton.framework.Pair;
+import edu.sibfu.isit.nemeton.models.MutablePoint;
 import edu.sibfu.isit.nemeton.models.Point;
 import edu.sibfu.isit.nemeton.models.Result;
-import edu.sibfu.isit.nemeton.models.functions.Constraint;
 import edu.sibfu.isit.nemeton.models.functions.NFunction;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Random;
-import java.util.stream.DoubleStream;
 
 /**
  * Selective Averaging Coordinates Algorithm.
@@ -46,28 +47,21 @@ import java.util.stream.DoubleStream;
 public class SACAlgorithm extends OptimizationAlgorithm {
 
     /**
-     * Functional interface for dimensional transition.
-     * 
-     * @param <Value> value type
-     * @param <Min> infimum
-     * @param <Max> supremum
-     * @param <R> result
+     * Dimensional transition of function value into [0; 1], g( I ).
      */
     @FunctionalInterface
-    private interface Function3<Value, Min, Max, R> {
-        R apply( Value aValue, Min aMin, Max aMax );
+    private interface Transition {
+        double apply( double aValue, double aMin, double aMax );
     }
-   
-    private final Random rnd;
-    private Function3<Double, Double, Double, Double> transition;
+    
+    private static final Transition TO_MIN = ( val, min, max ) -> ( val - min ) / ( max - min );
+    private static final Transition TO_MAX = ( val, min, max ) -> ( max - val ) / ( max - min );
     
     private final Point centre;
     private final Point delta;
     
     private final SACAlgorithmParameters params;
     
-    private int evaluations;
-    
     /**
      * Creates new SAC Algorithm.
      * 
@@ -80,138 +74,125 @@ public class SACAlgorithm extends OptimizationAlgorithm {
         
         centre = new Point( aParams.centre );
         delta = new Point( centre.getArity(), aParams.searchRange );
-        
-        rnd = new Random();
-        evaluations = 0;
     }
       
     /**
-     * Is algorithm constrained? 
-     * 
-     * @return true if has constrains, else false
-     */
-    private boolean isConstrained() {
-        return !constraints.isEmpty();
-    }
-    
-    /**
-     * Checks is point in specified constraints.
-     * 
-     * @param aPoint point
-     * @return true if in constraints, else false
-     */
-    private boolean check( Point aPoint ) {
-        for ( Constraint c : constraints ) {
-            if ( !c.check( aPoint ) ) return false;
-        }
-        return true;
-    }
-    
-    /**
-     * Generates sample point around centre.
+     * Generates sample points around centre.
+     * If no point satisfying constraints is found, centre is used.
      * 
-     * @param aN amount of points in sample
+     * @param aSample sample to fill
+     * @param aSampler constrained sampler
      * @param aCentre centre of hypercube (x)
      * @param aDelta hypercube size (delta x)
-     * @return points and distances between them and centre
      */
-    private ArrayList<Pair<CalculatedPoint,Point>> generateSample( int aN, Point aCentre, Point aDelta ) {
-        ArrayList<Pair<CalculatedPoint, Point>> sample = new ArrayList<>();
-        for ( int i = 0; i < aN; i++ ) {
-            int arity = aCentre.getArity();
-            Point point = new Point( aCentre );
-            Point uPoint = Point.zero( arity );
-            for ( int v = 0; v < arity; v++ ) {
-                double u = rnd.nextDouble() * 2 - 1;
-                double dx = aDelta.get( v ) * u;
-                point = point.add( dx, v );
-                uPoint = uPoint.add( u, v );
-            }
-            
-            if ( isConstrained() && !check( point ) ) {
-                i--;
-                continue;
+    private void generateSample( 
+        SACSample aSample, ConstrainedSampler aSampler, Point aCentre, Point aDelta 
+    ) {
+        final int n = aSample.size;
+        final int arity = aSample.arity;
+        final double[] points = aSample.points;
+        final double[] centre = aCentre.get();
+        final double[] delta = aDelta.get();
+        final boolean[] found = aSample.found;
+        
+        if ( aSampler.sample( centre, delta, n, points, found ) < n ) {
+            for ( int i = 0; i < n; i++ ) {
+                if ( !found[ i ] ) {
+                    System.arraycopy( centre, 0, points, aSample.offset( i ), arity );
+                }
             }
-            
-            final Pair<CalculatedPoint, Point> pair = new Pair<>(
-                new CalculatedPoint( f.eval( point ), point ), 
-                uPoint
-            );
-            sample.add( pair );
         }
+        normalize( aSample, centre, delta );
         
-        evaluations += aN;
-        return sample;
+        evaluate( points, arity, aSample.values );
     }
     
     /**
-     * Calculates delta x on next iteration.
+     * Calculates normalized distances between sample points and centre,
+     * u = ( x - x^0 ) / delta x.
      * 
-     * @param aPoints list of pairs ( x_i, u_i )
-     * @param aDelta delta x on previous iteration: delta x ( i )
-     * @param aGamma famma coefficient
-     * @param aQ metric q
-     * @param aKernelUndim values of kernel in points: p( g( x_i ) )
-     * @param aKernelSum sum of kernel values sum { p_i }
-     * @return delta x ( i + 1 )
+     * @param aSample sample
+     * @param aCentre centre of hypercube (x)
+     * @param aDelta hypercube size (delta x)
      */
-    private Point nextDelta(
-        ArrayList<Pair<CalculatedPoint, Point>> aPoints, 
-        Point aDelta, double aGamma, double aQ, 
-        double[] aKernelUndim, double aKernelSum
-    ) {
-        Point delta = aDelta.mul( aGamma );
-        int arity = aDelta.getArity();
-        Point uSum = Point.zero( arity );
-        int n = aPoints.size();
-        for ( int i = 0; i < n; i++ ) {
-            double p = aKernelUndim[ i ] / aKernelSum;
-            Point u = aPoints.get( i ).right().pow( aQ );
-            uSum = uSum.add( u.mul( p ) );
+    private static void normalize( SACSample aSample, double[] aCentre, double[] aDelta ) {
+        final int n = aSample.size;
+        final int arity = aSample.arity;
+        final double[] points = aSample.points;
+        final double[] us = aSample.u;
+        for ( int i = 0, offset = 0; i < n; i++, offset += arity ) {
+            for ( int v = 0; v < arity; v++ ) {
+                us[ offset + v ] = aDelta[ v ] != 0 ? ( points[ offset + v ] - aCentre[ v ] ) / aDelta[ v ] : 0;
+            }
         }
-        delta = delta.mul( uSum.pow( 1.0 / aQ ) );
-        return delta;
     }
     
     /**
      * Calculates u_min and delta x ( i + 1 ).
+     * Sample values are scanned once for minimum and maximum, then kernel 
+     * weights, weighted u and weighted |u|^q are accumulated in single pass.
+     * Comparator decides which of extreme sample points is better, 
+     * so kernel prefers either smaller or greater values.
      * 
-     * @param aArity function arity
-     * @param aPoints list of pairs ( x_i, u_i )
+     * @param aComparator point comparator
+     * @param aSample sample
      * @param aDelta delta x ( i )
-     * @return u_min and delta x ( i + 1 )
+     * @param aUMin u_min, overwritten
+     * @param aNextDelta delta x ( i + 1 ), overwritten
      */
-    private Pair<Point, Point> uMinAndDelta(
-        int aArity, ArrayList<Pair<CalculatedPoint, Point>> aPoints,
-        Point aDelta
+    private void uMinAndDelta( 
+        Comparator<CalculatedPoint> aComparator, SACSample aSample, 
+        Point aDelta, MutablePoint aUMin, MutablePoint aNextDelta 
     ) {
-        double values[] = aPoints
-            .stream()
-            .mapToDouble(
-                ( Pair<CalculatedPoint, ?> pair ) -> { return pair.left().getValue(); }
-            ).toArray();
-        double min = DoubleStream.of( values ).min().getAsDouble();
-        double max = DoubleStream.of( values ).max().getAsDouble();
+        final int n = aSample.size;
+        final int arity = aSample.arity;
+        final double[] values = aSample.values;
+        final double[] kernel = aSample.kernel;
         
-        double kernelUndim[] = DoubleStream.of( values )
-            .map(
-                ( value ) -> { 
-                    double g = transition.apply( value, min, max );
-                    return params.kernel.eval( params.selectiveness, g ); 
-                }
-            ).toArray();
-        double kernelSum = DoubleStream.of( kernelUndim ).sum();
+        int iMin = 0;
+        int iMax = 0;
+        for ( int i = 1; i < n; i++ ) {
+            final double value = values[ i ];
+            if ( value < values[ iMin ] ) {
+                iMin = i;
+            } else if ( value > values[ iMax ] ) {
+                iMax = i;
+            }
+        }
+        final double min = values[ iMin ];
+        final double max = values[ iMax ];
+        final Transition g = aComparator.compare( 
+            aSample.calculated( iMin ), aSample.calculated( iMax ) 
+        ) <= 0 ? TO_MIN : TO_MAX;
         
-        int n = aPoints.size();
-        Point uMin = Point.zero( aArity );
         for ( int i = 0; i < n; i++ ) {
-            double p = kernelUndim[ i ] / kernelSum;
-            Point u = aPoints.get( i ).right();
-            uMin = uMin.add( u.mul( p ) );
+            kernel[ i ] = g.apply( values[ i ], min, max );
         }
+        params.kernel.eval( params.selectiveness, kernel, kernel );
         
-        Point delta = nextDelta( aPoints, aDelta, params.gamma, params.metric, kernelUndim, kernelSum );
-        return new Pair<>( uMin, delta );
+        final int q = params.metric;
+        final double[] us = aSample.u;
+        final double[] uMin = aUMin.get();
+        final double[] uq = aNextDelta.get();
+        Arrays.fill( uMin, 0 );
+        Arrays.fill( uq, 0 );
+        double kernelSum = 0;
+        for ( int i = 0, offset = 0; i < n; i++, offset += arity ) {
+            final double p = kernel[ i ];
+            kernelSum += p;
+            for ( int v = 0; v < arity; v++ ) {
+                final double u = us[ offset + v ];
+                uMin[ v ] += p * u;
+                uq[ v ] += p * SelectiveKernel.pow( Math.abs( u ), q );
+            }
+        }
+        
+        final double[] delta = aDelta.get();
+        final double root = 1.0 / q;
+        for ( int v = 0; v < arity; v++ ) {
+            uMin[ v ] /= kernelSum;
+            uq[ v ] = delta[ v ] * params.gamma * Math.pow( uq[ v ] / kernelSum, root );
+        }
     }
     
     /**
@@ -231,31 +212,164 @@ public class SACAlgorithm extends OptimizationAlgorithm {
         return true;
     }
     
+    /**
+     * Runs algorithm in asynchronous steady-state mode.
+     * Sample is a window of n latest evaluated points: every arrived point
+     * is replaced by new one drawn around current centre, and centre moves
+     * after every n arrivals. Moved centre is evaluated by calling thread 
+     * while sample points are in flight. With one evaluation in flight run 
+     * is equivalent to generational one.
+     * 
+     * @param comparator point comparator
+     * @param history search history
+     * @return result
+     */
+    private Result runAsync( Comparator<CalculatedPoint> comparator, PointHistory history ) {
+        String endClause = params.iterations > 0 ? null : "по итерациям";
+        evaluations = 0;
+        final String deltaXId = "Δx";
+        CalculatedPoint current = evaluate( centre );
+        final RunState state = newRunState( comparator );
+        state.update( 0, evaluations, current );
+        history.add( current );
+        history.addPointParameter( deltaXId, delta );
+        
+        final MutablePoint centre = new MutablePoint( this.centre );
+        Point delta = new Point( this.delta );
+        
+        final int arity = centre.getArity();
+        final int n = params.sampleSize;
+        final SACSample sample = new SACSample( n, arity );
+        final ConstrainedSampler sampler = new ConstrainedSampler( constraints, arity, random() );
+        final MutablePoint uMin = new MutablePoint( arity );
+        final MutablePoint nextDelta = new MutablePoint( arity );
+        final AsyncEvaluator<Void> evaluator = newAsyncEvaluator();
+        
+        int it = 0;
+        int arrivals = 0;
+        try {
+            for ( int i = 0; endClause == null && i < inFlight(); i++ ) {
+                evaluator.submit( draw( sampler, centre, delta ), null );
+            }
+            while ( endClause == null ) {
+                final CalculatedPoint arrived = evaluator.take().left();
+                count( 1 );
+                final int slot = arrivals % n;
+                System.arraycopy( arrived.get(), 0, sample.points, sample.offset( slot ), arity );
+                sample.values[ slot ] = arrived.getValue();
+                arrivals++;
+                if ( arrivals % n == 0 ) {
+                    normalize( sample, centre.get(), delta.get() );
+                    uMinAndDelta( comparator, sample, delta, uMin, nextDelta );
+                    centre.addInPlace( uMin.mulInPlace( delta ) );
+                    delta = new Point( nextDelta );
+                    it++;
+                    
+                    current = evaluate( centre );
+                    history.add( current );
+                    history.addPointParameter( deltaXId, delta );
+                    if ( stopCondition( delta, params.accuracy ) ) {
+                        endClause = "по точности";
+                    } else {
+                        state.update( it, evaluations, current );
+                        endClause = checkStop( state );
+                        if ( endClause == null && it >= params.iterations ) {
+                            endClause = "по итерациям";
+                        }
+                    }
+                }
+                if ( endClause == null ) {
+                    evaluator.submit( draw( sampler, centre, delta ), null );
+                }
+            }
+        } finally {
+            evaluator.cancel();
+        }
+        
+        Result result = new Result(
+            this, f, 
+            new CalculatedPoint[] { current }, 
+            it, evaluations, params.accuracy
+        );
+        result.setEndClause( endClause );
+        result.setRejectionRate( sampler.rejectionRate() );
+        result.setHistory( history );
+        return result;
+    }
+    
+    /**
+     * Draws new sample point around centre, 
+     * centre is used if no point satisfying constraints is found.
+     * 
+     * @param aSampler constrained sampler
+     * @param aCentre centre of hypercube (x)
+     * @param aDelta hypercube size (delta x)
+     * @return new point
+     */
+    private static Point draw( ConstrainedSampler aSampler, Point aCentre, Point aDelta ) {
+        final double[] x = new double[ aCentre.getArity() ];
+        if ( !aSampler.sample( aCentre.get(), aDelta.get(), x ) ) {
+            System.arraycopy( aCentre.get(), 0, x, 0, x.length );
+        }
+        return new Point( x );
+    }
+    
     @Override
-    public Result run( Comparator<Point> comparator ) {
+    public Result run( Comparator<CalculatedPoint> comparator ) {
+        final PointHistory history = newHistory();
+        try {
+            return isAsync() ? runAsync( comparator, history ) : runSync( comparator, history );
+        } finally {
+            history.close();
+        }
+    }
+    
+    /**
+     * Runs algorithm generation by generation.
+     * 
+     * @param comparator point comparator
+     * @param history search history
+     * @return result
+     */
+    private Result runSync( Comparator<CalculatedPoint> comparator, PointHistory history ) {
         String endClause = "нет данных";
-        final PointHistory history = new PointHistory();
+        evaluations = 0;
         final String deltaXId = "Δx";
-        history.add( centre, f.eval( centre ) );
+        CalculatedPoint current = evaluate( centre );
+        final RunState state = newRunState( comparator );
+        state.update( 0, evaluations, current );
+        history.add( current );
         history.addPointParameter( deltaXId, delta );
         
-        Point centre = new Point( this.centre );
+        MutablePoint centre = new MutablePoint( this.centre );
         Point delta = new Point( this.delta );
         
+        final int arity = centre.getArity();
+        final SACSample sample = new SACSample( params.sampleSize, arity );
+        final ConstrainedSampler sampler = new ConstrainedSampler( constraints, arity, random() );
+        final MutablePoint uMin = new MutablePoint( arity );
+        final MutablePoint nextDelta = new MutablePoint( arity );
+        
         int it;
         for ( it = 0; it < params.iterations; it++ ) {
-            ArrayList<Pair<CalculatedPoint, Point>> points = generateSample( params.sampleSize, centre, delta );
-            Pair<Point, Point> res = uMinAndDelta( centre.getArity(), points, delta );
-            Point uMin = res.left();
-            centre = centre.add( delta.mul( uMin ) );
-            delta = res.right();
+            generateSample( sample, sampler, centre, delta );
+            uMinAndDelta( comparator, sample, delta, uMin, nextDelta );
+            centre.addInPlace( uMin.mulInPlace( delta ) );
+            delta = new Point( nextDelta );
             
-            history.add( centre, f.eval( centre ) );
+            current = evaluate( centre );
+            history.add( current );
             history.addPointParameter( deltaXId, delta );
             if ( stopCondition( delta, params.accuracy ) ) {
                 endClause = "по точности";
                 break;
             }
+            state.update( it + 1, evaluations, current );
+            final String stop = checkStop( state );
+            if ( stop != null ) {
+                endClause = stop;
+                break;
+            }
         }
         if ( it == params.iterations ) {
             endClause = "по итерациям";
@@ -263,26 +377,15 @@ public class SACAlgorithm extends OptimizationAlgorithm {
         
         Result result = new Result(
             this, f, 
-            new CalculatedPoint[] { new CalculatedPoint( f.eval( centre ), centre ) }, 
+            new CalculatedPoint[] { current }, 
             it, evaluations, params.accuracy
         );
         result.setEndClause( endClause );
+        result.setRejectionRate( sampler.rejectionRate() );
         result.setHistory( history );
         return result;
     }
 
-    @Override
-    public Result maximize() {
-        transition = ( val, min, max ) -> { return ( max - val ) / ( max - min ); };
-        return super.maximize(); 
-    }
-
-    @Override
-    public Result minimize() {
-        transition = ( val, min, max ) -> { return ( val - min ) / ( max - min ); };
-        return super.minimize();
-    }
-
     @Override
     public String toString() {
         return "Селективное усреднение координат";
@@ -49,7 +49,7 @@ import edu.sibfu.isit.nemeton.views.SACSettings;
  */
 public class SACBuilder extends AlgorithmBuilder {
 
-    private SACSettings view;
+    private JFrame view;
     
     private Point centre = Point.zero(2);
     private double searchRange = 5;
@@ -64,6 +64,10 @@ public class SACBuilder extends AlgorithmBuilder {
     private int iterations = 100000;
     private double accuracy = 1E-5;
     private boolean constrained = true;
+    
+    private int starts = 1;
+    private int cullAfter = 10;
+    private double distance = 1E-2;
  
     /**
      * Sets centre of search area, start point.
@@ -251,6 +255,65 @@ public class SACBuilder extends AlgorithmBuilder {
     public boolean isConstrained() {
         return constrained;
     }
+    
+    /**
+     * Sets amount of parallel trajectories, 1 means plain SAC.
+     * @see MultiStartSAC
+     * 
+     * @param aStarts amount of trajectories
+     * @return self
+     */
+    public SACBuilder starts( int aStarts ) {
+        starts = aStarts;
+        return this;
+    }
+    /**
+     * Returns amount of parallel trajectories.
+     * 
+     * @return amount of trajectories
+     */
+    public int starts() {
+        return starts;
+    }
+    
+    /**
+     * Sets iterations before dominated trajectory may be culled, 
+     * 0 disables culling.
+     * 
+     * @param aIterations iterations
+     * @return self
+     */
+    public SACBuilder cullAfter( int aIterations ) {
+        cullAfter = aIterations;
+        return this;
+    }
+    /**
+     * Returns iterations before dominated trajectory may be culled.
+     * 
+     * @return iterations
+     */
+    public int cullAfter() {
+        return cullAfter;
+    }
+    
+    /**
+     * Sets minimal distance between distinct optima of trajectories.
+     * 
+     * @param aDistance distance
+     * @return self
+     */
+    public SACBuilder distance( double aDistance ) {
+        distance = aDistance;
+        return this;
+    }
+    /**
+     * Returns minimal distance between distinct optima.
+     * 
+     * @return distance
+     */
+    public double distance() {
+        return distance;
+    }
    
     @Override
     public OptimizationAlgorithm build( NFunction aFunction ) {
@@ -258,8 +321,15 @@ public class SACBuilder extends AlgorithmBuilder {
             centre, searchRange, sampleSize, gamma, metric, kernel, sampleSize,
             iterations, accuracy
         );
-        SACAlgorithm alg = new SACAlgorithm( aFunction, params );
+        final OptimizationAlgorithm alg = starts > 1
+            ? new MultiStartSAC( aFunction, params, starts, cullAfter, distance, random )
+            : new SACAlgorithm( aFunction, params );
         alg.constraint( constraints );
+        alg.history( history );
+        alg.stop( criteria );
+        alg.random( newRandom() );
+        alg.async( executor, inFlight );
+        alg.cache( cache );
         return alg;
     }
 
@@ -271,7 +341,7 @@ public class SACBuilder extends AlgorithmBuilder {
     @Override
     public JFrame show() {
         if ( view == null ) {
-            view = new SACSettings( this );
+            view = SACSettings.create( this );
         }
         return view;
     }
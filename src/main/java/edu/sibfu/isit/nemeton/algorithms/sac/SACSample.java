@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.sac;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import java.util.Arrays;
+
+/**
+ * Sample of SAC algorithm stored as flat arrays.
+ * Coordinates of i-th point are stored in [ i * arity, ( i + 1 ) * arity ).
+ * Sample is allocated once per run and refilled on every iteration.
+ * @see SACAlgorithm
+ * 
+ * @author Max Balushkin
+ */
+public class SACSample {
+    
+    /**
+     * Amount of points in sample, n.
+     */
+    public final int size;
+    /**
+     * Point arity.
+     */
+    public final int arity;
+    
+    /**
+     * Points coordinates, x_i.
+     */
+    public final double[] points;
+    /**
+     * Normalized distances between points and centre, u_i.
+     */
+    public final double[] u;
+    /**
+     * Function values in points, I( x_i ).
+     */
+    public final double[] values;
+    /**
+     * Kernel values in points, p( g( x_i ) ).
+     */
+    public final double[] kernel;
+    /**
+     * Was point found inside constraints?
+     */
+    public final boolean[] found;
+    
+    /**
+     * Creates new sample.
+     * 
+     * @param aSize amount of points in sample
+     * @param aArity point arity
+     */
+    public SACSample( int aSize, int aArity ) {
+        size = aSize;
+        arity = aArity;
+        
+        points = new double[ aSize * aArity ];
+        u = new double[ aSize * aArity ];
+        values = new double[ aSize ];
+        kernel = new double[ aSize ];
+        found = new boolean[ aSize ];
+    }
+    
+    /**
+     * Returns offset of point in coordinate arrays.
+     * 
+     * @param aIdx point index
+     * @return offset
+     */
+    public int offset( int aIdx ) {
+        return aIdx * arity;
+    }
+    
+    /**
+     * Copies sample point with its value.
+     * 
+     * @param aIdx point index
+     * @return calculated point
+     */
+    public CalculatedPoint calculated( int aIdx ) {
+        final int offset = offset( aIdx );
+        return new CalculatedPoint( 
+            values[ aIdx ], Arrays.copyOfRange( points, offset, offset + arity ) 
+        );
+    }
+    
+}
@@ -33,7 +33,19 @@ public class ParabolicKernel extends SelectiveKernel {
 
     @Override
     public double eval(double s, double g) {
-        return Math.pow(1 - g * g, s);
+        return pow(1 - g * g, s);
+    }
+
+    @Override
+    public void eval( double s, double[] g, double[] out ) {
+        final int n = (int) s;
+        if ( n != s ) {
+            super.eval( s, g, out );
+            return;
+        }
+        for ( int i = 0; i < g.length; i++ ) {
+            out[ i ] = pow( 1 - g[ i ] * g[ i ], n );
+        }
     }
 
     @Override
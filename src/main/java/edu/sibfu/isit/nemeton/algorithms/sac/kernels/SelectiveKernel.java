@@ -25,6 +25,8 @@ package edu.sibfu.isit.nemeton.algorithms.sac.kernels;
 
 /**
  * Base class for selective kernels.
+ * Kernels are stateless or thread-safe, so one kernel may be shared by 
+ * algorithms running in parallel.
  * 
  * @author Max Balushkin
  */
@@ -38,6 +40,66 @@ public abstract class SelectiveKernel {
      * @return kernel value
      */
     public abstract double eval(double s, double g);
+    
+    /**
+     * Calculates kernel values.
+     * 
+     * @param s selectiveness
+     * @param g dimensionless quantities
+     * @param out kernel values, may be the same array as g
+     */
+    public void eval( double s, double[] g, double[] out ) {
+        for ( int i = 0; i < g.length; i++ ) {
+            out[ i ] = eval( s, g[ i ] );
+        }
+    }
+    
+    /**
+     * Raises number to power.
+     * Integer exponent is handled by repeated squaring, other ones by 
+     * {@link Math#pow(double, double)}.
+     * 
+     * @param x base
+     * @param s exponent
+     * @return x ^ s
+     */
+    public static double pow( double x, double s ) {
+        final int n = (int) s;
+        return n == s ? pow( x, n ) : Math.pow( x, s );
+    }
+    
+    /**
+     * Raises number to integer power by repeated squaring.
+     * 
+     * @param x base
+     * @param n exponent
+     * @return x ^ n
+     */
+    public static double pow( double x, int n ) {
+        if ( n < 0 ) {
+            return 1 / pow( x, -(long) n );
+        }
+        return pow( x, (long) n );
+    }
+    
+    /**
+     * Raises number to non-negative integer power by repeated squaring.
+     * 
+     * @param x base
+     * @param n exponent
+     * @return x ^ n
+     */
+    private static double pow( double x, long n ) {
+        double res = 1;
+        double base = x;
+        for ( long e = n; e != 0; e >>>= 1 ) {
+            if ( ( e & 1 ) != 0 ) {
+                res *= base;
+            }
+            base *= base;
+        }
+        return res;
+    }
 
     @Override
     public abstract String toString();
@@ -0,0 +1,144 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.sac.kernels;
+
+/**
+ * Selective kernel tabulated over g in [0, 1].
+ * Values between table nodes are linearly interpolated, values outside 
+ * [0, 1] are calculated by tabulated kernel. Table is built on first use 
+ * and rebuilt when selectiveness changes.
+ * 
+ * @author Max Balushkin
+ */
+public class TabulatedKernel extends SelectiveKernel {
+    
+    /**
+     * Default amount of table intervals.
+     */
+    public static final int DEFAULT_SIZE = 1024;
+    
+    /**
+     * Kernel values for single selectiveness.
+     */
+    private static class Table {
+        
+        private final double s;
+        private final double[] values;
+        
+        /**
+         * Tabulates kernel.
+         * 
+         * @param aKernel kernel
+         * @param aS selectiveness
+         * @param aSize amount of table intervals
+         */
+        Table( SelectiveKernel aKernel, double aS, int aSize ) {
+            s = aS;
+            values = new double[ aSize + 2 ];
+            for ( int i = 0; i <= aSize; i++ ) {
+                values[ i ] = aKernel.eval( aS, (double) i / aSize );
+            }
+            // Guard node: g = 1 interpolates without extra branch
+            values[ aSize + 1 ] = values[ aSize ];
+        }
+        
+    }
+    
+    private final SelectiveKernel kernel;
+    private final int size;
+    private volatile Table table;
+    
+    /**
+     * Creates tabulated kernel with default table size.
+     * 
+     * @param aKernel tabulated kernel
+     */
+    public TabulatedKernel( SelectiveKernel aKernel ) {
+        this( aKernel, DEFAULT_SIZE );
+    }
+    
+    /**
+     * Creates tabulated kernel.
+     * 
+     * @param aKernel tabulated kernel
+     * @param aSize amount of table intervals
+     */
+    public TabulatedKernel( SelectiveKernel aKernel, int aSize ) {
+        kernel = aKernel;
+        size = aSize;
+    }
+    
+    /**
+     * Returns table for selectiveness.
+     * Racing threads may build equal tables, any of them is used.
+     * 
+     * @param s selectiveness
+     * @return table
+     */
+    private Table table( double s ) {
+        Table t = table;
+        if ( t == null || Double.doubleToLongBits( t.s ) != Double.doubleToLongBits( s ) ) {
+            t = new Table( kernel, s, size );
+            table = t;
+        }
+        return t;
+    }
+    
+    /**
+     * Interpolates table value.
+     * 
+     * @param aValues table values
+     * @param s selectiveness
+     * @param g dimensionless quantity
+     * @return kernel value
+     */
+    private double lookup( double[] aValues, double s, double g ) {
+        if ( !( g >= 0 && g <= 1 ) ) {
+            return kernel.eval( s, g );
+        }
+        final double x = g * size;
+        final int i = (int) x;
+        final double frac = x - i;
+        return aValues[ i ] + frac * ( aValues[ i + 1 ] - aValues[ i ] );
+    }
+
+    @Override
+    public double eval( double s, double g ) {
+        return lookup( table( s ).values, s, g );
+    }
+
+    @Override
+    public void eval( double s, double[] g, double[] out ) {
+        final double[] values = table( s ).values;
+        for ( int i = 0; i < g.length; i++ ) {
+            out[ i ] = lookup( values, s, g[ i ] );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return kernel.toString() + " (таблица)";
+    }
+    
+}
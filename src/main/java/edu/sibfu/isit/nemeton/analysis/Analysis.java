@@ -24,23 +24,328 @@
 package edu.sibfu.isit.nemeton.analysis;
 
 import edu.sibfu.isit.nemeton.algorithms.AlgorithmBuilder;
+import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
 import edu.sibfu.isit.nemeton.models.AnalysisResult;
 import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.PointHistory;
 import edu.sibfu.isit.nemeton.models.Result;
 import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import edu.sibfu.isit.nemeton.views.AnalysisView;
 import edu.sibfu.isit.nemeton.views.ProgressView;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import javax.swing.SwingUtilities;
 import edu.sibfu.isit.nemeton.framework.Listener;
 
 /**
  * Algorithm analyzer.
+ * Independent algorithm runs are split across shared fork-join pool.
+ * In adaptive mode runs go in rounds and analysis stops as soon as 
+ * confidence interval of success probability is narrow enough, or when
+ * algorithm is clearly worse than another one analysed along with it.
  * 
  * @author Max Balushkin
  */
 public class Analysis {
     
+    /**
+     * Shared pool for algorithm runs.
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool( 
+        Runtime.getRuntime().availableProcessors() 
+    );
+    
+    /**
+     * Maximal amount of progress notifications per analysis.
+     */
+    private static final int PROGRESS_STEPS = 100;
+    
+    /**
+     * Minimal amount of runs in round of adaptive analysis.
+     */
+    private static final int ROUND = 16;
+    
+    private double halfWidth = 0;
+    private double z = 1.96;
+    
+    /**
+     * Outcome of single algorithm run.
+     */
+    private enum Outcome {
+        /**
+         * Known extremum was found.
+         */
+        SUCCESS,
+        /**
+         * Known extremum was not found.
+         */
+        FAILURE,
+        /**
+         * Run is not taken into account (NaN solution).
+         */
+        UNDEFINED
+    }
+    
+    /**
+     * Merged statistics of several algorithm runs.
+     */
+    private static class Tally {
+        
+        private int runs;
+        private int success;
+        private int total;
+        
+        // Welford mean and sum of squared deviations of successful runs evaluations
+        private double mean;
+        private double m2;
+        
+        /**
+         * Adds run to statistics.
+         * 
+         * @param aOutcome run outcome
+         * @param aEvaluations amount of function evaluations
+         * @return self
+         */
+        Tally add( Outcome aOutcome, int aEvaluations ) {
+            runs++;
+            if ( aOutcome == Outcome.SUCCESS ) {
+                success++;
+                final double delta = aEvaluations - mean;
+                mean += delta / success;
+                m2 += delta * ( aEvaluations - mean );
+            }
+            if ( aOutcome != Outcome.UNDEFINED ) {
+                total++;
+            }
+            return this;
+        }
+        
+        /**
+         * Merges statistics.
+         * 
+         * @param aOther other statistics
+         * @return self
+         */
+        Tally merge( Tally aOther ) {
+            if ( aOther.success > 0 ) {
+                final int n = success + aOther.success;
+                final double delta = aOther.mean - mean;
+                mean += delta * aOther.success / n;
+                m2 += aOther.m2 + delta * delta * ( (double) success * aOther.success / n );
+            }
+            runs += aOther.runs;
+            success += aOther.success;
+            total += aOther.total;
+            return this;
+        }
+        
+        /**
+         * Returns mean of successful runs evaluations.
+         * 
+         * @return mean, NaN if there are no successful runs
+         */
+        double mean() {
+            return success > 0 ? mean : Double.NaN;
+        }
+        
+        /**
+         * Returns standard deviation of successful runs evaluations.
+         * 
+         * @return standard deviation, NaN if there are less than two runs
+         */
+        double deviation() {
+            return success > 1 ? Math.sqrt( m2 / ( success - 1 ) ) : Double.NaN;
+        }
+        
+        /**
+         * Calculates Wilson score interval of success probability.
+         * 
+         * @param aZ standard normal quantile
+         * @return lower and upper bounds
+         */
+        double[] wilson( double aZ ) {
+            if ( total == 0 ) {
+                return new double[] { 0, 1 };
+            }
+            final double p = (double) success / total;
+            final double z2 = aZ * aZ;
+            final double denom = 1 + z2 / total;
+            final double centre = ( p + z2 / ( 2 * total ) ) / denom;
+            final double half = aZ * Math.sqrt( p * ( 1 - p ) / total + z2 / ( 4.0 * total * total ) ) / denom;
+            return new double[] { Math.max( 0, centre - half ), Math.min( 1, centre + half ) };
+        }
+        
+    }
+    
+    /**
+     * Range of repetitions of algorithm.
+     * Splits range in halves until it is small enough.
+     */
+    private static class Repetitions extends RecursiveTask<Tally> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final Progress progress;
+        private final NFunction function;
+        private final MinimaIndex minima;
+        private final AlgorithmBuilder algo;
+        private final double accuracy;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        /**
+         * Creates new range of repetitions.
+         * 
+         * @param aProgress progress counter
+         * @param aFunction optimized function
+         * @param aMinima index of known minima
+         * @param aAlgo analysed algorithm builder
+         * @param aAccuracy analyse accuracy
+         * @param aFrom first repetition
+         * @param aTo last repetition (exclusive)
+         * @param aGrain maximal amount of repetitions run sequentially
+         */
+        Repetitions( 
+            Progress aProgress, NFunction aFunction, MinimaIndex aMinima, 
+            AlgorithmBuilder aAlgo, double aAccuracy, int aFrom, int aTo, int aGrain 
+        ) {
+            progress = aProgress;
+            function = aFunction;
+            minima = aMinima;
+            algo = aAlgo;
+            accuracy = aAccuracy;
+            from = aFrom;
+            to = aTo;
+            grain = aGrain;
+        }
+        
+        @Override
+        protected Tally compute() {
+            if ( to - from <= grain ) {
+                final Tally tally = new Tally();
+                for ( int i = from; i < to; i++ ) {
+                    OptimizationAlgorithm alg = algo.build( function );
+                    alg.history( PointHistory::discarding );
+                    alg.random( algo.newRandom( i ) );
+                    Result result = alg.minimize();
+                    tally.add( outcome( result, minima, accuracy ), result.getEvaluations() );
+                    progress.increment();
+                }
+                return tally;
+            }
+            
+            final int mid = ( from + to ) >>> 1;
+            Repetitions right = new Repetitions( progress, function, minima, algo, accuracy, mid, to, grain );
+            right.fork();
+            Tally left = new Repetitions( progress, function, minima, algo, accuracy, from, mid, grain ).compute();
+            return left.merge( right.join() );
+        }
+        
+    }
+    
+    /**
+     * Board of success intervals of algorithms analysed together.
+     * Every analysis publishes its interval after each round lock-free.
+     */
+    private static class Race {
+        
+        private final AtomicLongArray lower;
+        private final AtomicLongArray upper;
+        
+        /**
+         * Creates new board.
+         * 
+         * @param aN amount of algorithms
+         */
+        Race( int aN ) {
+            lower = new AtomicLongArray( aN );
+            upper = new AtomicLongArray( aN );
+            for ( int i = 0; i < aN; i++ ) {
+                lower.set( i, Double.doubleToRawLongBits( 0 ) );
+                upper.set( i, Double.doubleToRawLongBits( 1 ) );
+            }
+        }
+        
+        /**
+         * Publishes interval of algorithm.
+         * 
+         * @param aSlot algorithm index
+         * @param aInterval lower and upper bounds
+         */
+        void publish( int aSlot, double[] aInterval ) {
+            lower.set( aSlot, Double.doubleToRawLongBits( aInterval[ 0 ] ) );
+            upper.set( aSlot, Double.doubleToRawLongBits( aInterval[ 1 ] ) );
+        }
+        
+        /**
+         * Is algorithm dominated, i.e. is its upper bound less than 
+         * lower bound of another algorithm?
+         * 
+         * @param aSlot algorithm index
+         * @return true if algorithm is dominated
+         */
+        boolean dominated( int aSlot ) {
+            final double up = Double.longBitsToDouble( upper.get( aSlot ) );
+            for ( int i = 0; i < lower.length(); i++ ) {
+                if ( i != aSlot && Double.longBitsToDouble( lower.get( i ) ) > up ) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+    }
+    
+    /**
+     * Throttled progress counter.
+     * Notifies listener at most {@link #PROGRESS_STEPS} times.
+     */
+    private static class Progress {
+        
+        private final AtomicInteger done;
+        private final Listener<Integer> listener;
+        private final int n;
+        private final int step;
+        
+        /**
+         * Creates new progress counter.
+         * 
+         * @param aListener progress listener
+         * @param aN amount of algorithm runs
+         */
+        Progress( Listener<Integer> aListener, int aN ) {
+            done = new AtomicInteger();
+            listener = aListener;
+            n = aN;
+            step = Math.max( 1, aN / PROGRESS_STEPS );
+        }
+        
+        /**
+         * Marks algorithm run as done.
+         */
+        void increment() {
+            final int value = done.incrementAndGet();
+            if ( value % step == 0 || value == n ) {
+                listener.publish( value );
+            }
+        }
+        
+        /**
+         * Marks analysis as done, even if some runs were skipped.
+         */
+        void finish() {
+            if ( done.get() < n ) {
+                listener.publish( n );
+            }
+        }
+        
+    }
+    
     /**
      * Analyzer routine.
      */
@@ -52,6 +357,8 @@ public class Analysis {
         private AlgorithmBuilder algo;
         private int n;
         private double accuracy;
+        private Race race;
+        private int slot;
         
         /**
          * Creates new analyser routine. 
@@ -62,11 +369,13 @@ public class Analysis {
          * @param aAlgo analysed algorithm builder
          * @param aN amount of algorithm runs
          * @param aAccuracy analyse accuracy
+         * @param aRace board of algorithms analysed together
+         * @param aSlot algorithm index on board
          */
         public AnalyserRoutine( 
             Listener<Integer> aListener, Listener<AnalysisResult> aAnalysisListener, 
             NFunction aFunction, AlgorithmBuilder aAlgo, 
-            int aN, double aAccuracy 
+            int aN, double aAccuracy, Race aRace, int aSlot 
         ) {
             listener = aListener;
             analysisResult = aAnalysisListener;
@@ -75,50 +384,142 @@ public class Analysis {
             algo = aAlgo;
             n = aN;
             accuracy = aAccuracy;
+            race = aRace;
+            slot = aSlot;
         }
         
         @Override
         public void run() {
-            List<CalculatedPoint> minima = function.minima();
-            int success = 0;
-            int total = 0;
-            int evaluations = 0;
-            for ( int i = 0; i < n; i++ ) {
-                Result result = algo.build( function ).minimize();
-                CalculatedPoint[] solutions = result.getValues();
-
-                final int ipp = i + 1;
-                SwingUtilities.invokeLater( () -> listener.publish( ipp ) );
-
-                boolean wasNaN = false;
-                loop:
-                for ( CalculatedPoint point : solutions ) {
-                    wasNaN = false;
-                    if ( Double.isNaN( point.getValue() ) ) {
-                        wasNaN = true;
-                        continue;
-                    }
-
-                    for ( CalculatedPoint min : minima ) {
-                        double distance = min.distance(point);
-                        double valueDiff = Math.abs( min.getValue() - point.getValue() );
-                        if ( distance < accuracy || valueDiff < accuracy ) {
-                            success++;
-                            evaluations += result.getEvaluations();
-                            break loop;
-                        } 
-                    }
-                }
-                if (!wasNaN) total++;
+            AnalysisResult res = analyse( 
+                function, algo, n, accuracy, 
+                ( Integer i ) -> SwingUtilities.invokeLater( () -> listener.publish( i ) ),
+                race, slot
+            );
+            SwingUtilities.invokeLater( () -> analysisResult.publish( res ) );
+        }
+        
+    }
+    
+    /**
+     * Checks whether algorithm found any of known minima.
+     * 
+     * @param aResult algorithm result
+     * @param aMinima index of known minima
+     * @param aAccuracy analyse accuracy
+     * @return run outcome
+     */
+    private static Outcome outcome( Result aResult, MinimaIndex aMinima, double aAccuracy ) {
+        boolean wasNaN = false;
+        for ( CalculatedPoint point : aResult.getValues() ) {
+            wasNaN = false;
+            if ( Double.isNaN( point.getValue() ) ) {
+                wasNaN = true;
+                continue;
             }
+            if ( aMinima.matches( point, aAccuracy ) ) {
+                return Outcome.SUCCESS;
+            }
+        }
+        return wasNaN ? Outcome.UNDEFINED : Outcome.FAILURE;
+    }
+    
+    /**
+     * Enables adaptive analysis.
+     * Runs go in rounds until half-width of success probability 
+     * confidence interval is reached; amount of runs becomes maximal one.
+     * 
+     * @param aHalfWidth target half-width, 0 disables adaptive mode
+     * @return self
+     */
+    public Analysis adaptive( double aHalfWidth ) {
+        halfWidth = aHalfWidth;
+        return this;
+    }
+    
+    /**
+     * Sets confidence of success probability interval.
+     * 
+     * @param aZ standard normal quantile, e.g. 1.96 for 95%
+     * @return self
+     */
+    public Analysis confidence( double aZ ) {
+        z = aZ;
+        return this;
+    }
+    
+    /**
+     * Analyses algorithm.
+     * Blocks until all runs are finished; runs are executed in shared pool.
+     * 
+     * @param aFunction optimized function
+     * @param aBuilder algorithm builder
+     * @param aN amount of runs, maximal one in adaptive mode
+     * @param aAccuracy analyse accuracy
+     * @param aProgress progress listener (notifies amount of finished runs)
+     * @return analysis result
+     */
+    public AnalysisResult analyse( 
+        NFunction aFunction, AlgorithmBuilder aBuilder, 
+        int aN, double aAccuracy, Listener<Integer> aProgress 
+    ) {
+        return analyse( aFunction, aBuilder, aN, aAccuracy, aProgress, null, 0 );
+    }
+    
+    /**
+     * Analyses algorithm.
+     * 
+     * @param aFunction optimized function
+     * @param aBuilder algorithm builder
+     * @param aN amount of runs, maximal one in adaptive mode
+     * @param aAccuracy analyse accuracy
+     * @param aProgress progress listener (notifies amount of finished runs)
+     * @param aRace board of algorithms analysed together, may be null
+     * @param aSlot algorithm index on board
+     * @return analysis result
+     */
+    private AnalysisResult analyse( 
+        NFunction aFunction, AlgorithmBuilder aBuilder, 
+        int aN, double aAccuracy, Listener<Integer> aProgress,
+        Race aRace, int aSlot
+    ) {
+        final Progress progress = new Progress( aProgress, aN );
+        final MinimaIndex minima = new MinimaIndex( aFunction.minima() );
+        final int parallelism = POOL.getParallelism();
+        final boolean adaptive = halfWidth > 0;
+        final int round = adaptive ? Math.max( ROUND, parallelism * 4 ) : aN;
+        
+        final Tally tally = new Tally();
+        double[] interval = tally.wilson( z );
+        for ( int from = 0; from < aN; ) {
+            final int to = Math.min( aN, from + round );
+            final int grain = Math.max( 1, ( to - from ) / ( parallelism * 4 ) );
+            final Repetitions task = new Repetitions(
+                progress, aFunction, minima, aBuilder, aAccuracy, from, to, grain
+            );
+            tally.merge( ForkJoinTask.getPool() == POOL ? task.invoke() : POOL.invoke( task ) );
+            from = to;
             
-            double prob = total != 0 ? (double) success / total : 0;
-            double mean = total != 0 ? (double) evaluations / total : Double.NaN;
-            
-            AnalysisResult res = new AnalysisResult(algo.build( function ), function, prob, mean);
-            SwingUtilities.invokeLater( () -> analysisResult.publish( res ) );
+            interval = tally.wilson( z );
+            if ( !adaptive ) {
+                continue;
+            }
+            if ( aRace != null ) {
+                aRace.publish( aSlot, interval );
+            }
+            if ( ( interval[ 1 ] - interval[ 0 ] ) / 2 <= halfWidth 
+                || aRace != null && aRace.dominated( aSlot ) 
+            ) {
+                break;
+            }
         }
+        progress.finish();
+        
+        double prob = tally.total != 0 ? (double) tally.success / tally.total : 0;
         
+        return new AnalysisResult( 
+            aBuilder.build( aFunction ), aFunction, 
+            prob, interval[ 0 ], interval[ 1 ], tally.mean(), tally.deviation(), tally.runs 
+        );
     }
     
     /**
@@ -131,15 +532,19 @@ public class Analysis {
      * @param aAccuracy analyse accuracy
      */
     public void analyse( AnalysisView aView, NFunction aFunction, List<AlgorithmBuilder> aBuilders, int aN, double aAccuracy ) {
-        for ( AlgorithmBuilder bldr : aBuilders ) {
+        final Race race = new Race( aBuilders.size() );
+        for ( int i = 0; i < aBuilders.size(); i++ ) {
+            AlgorithmBuilder bldr = aBuilders.get( i );
             ProgressView panel = new ProgressView( bldr.toString() );
             panel.setMin( 0 );
             panel.setMax( aN );
             panel.setValue( 0 );
             panel.setVisible( true );
-            new Thread(
-                new AnalyserRoutine( panel.progressListener, aView.listener, aFunction, bldr, aN, aAccuracy )
-            ).start();
+            POOL.execute(
+                new AnalyserRoutine( 
+                    panel.progressListener, aView.listener, aFunction, bldr, aN, aAccuracy, race, i 
+                )
+            );
         }
     }
     
@@ -0,0 +1,250 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.analysis;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of known minima for success checks.
+ * Coordinates are kept in implicit KD-tree: median of every range lies 
+ * in its middle, ranges are split by axes in turn. Values are kept sorted.
+ * Index is immutable and may be shared between threads.
+ * @see Analysis
+ * 
+ * @author Max Balushkin
+ */
+class MinimaIndex {
+    
+    private final int n;
+    private final int k;
+    private final double[] coords;
+    private final double[] values;
+    
+    /**
+     * Creates index of minima.
+     * Missing coordinates of minima with smaller arity are zeros.
+     * 
+     * @param aMinima known minima
+     */
+    MinimaIndex( List<CalculatedPoint> aMinima ) {
+        n = aMinima.size();
+        int arity = 0;
+        for ( CalculatedPoint min : aMinima ) {
+            arity = Math.max( arity, min.getArity() );
+        }
+        k = arity;
+        
+        final double[] flat = new double[ n * k ];
+        values = new double[ n ];
+        for ( int i = 0; i < n; i++ ) {
+            final CalculatedPoint min = aMinima.get( i );
+            System.arraycopy( min.get(), 0, flat, i * k, min.getArity() );
+            values[ i ] = min.getValue();
+        }
+        Arrays.sort( values );
+        
+        final int[] order = new int[ n ];
+        for ( int i = 0; i < n; i++ ) {
+            order[ i ] = i;
+        }
+        build( flat, order, 0, n, 0 );
+        coords = new double[ n * k ];
+        for ( int i = 0; i < n; i++ ) {
+            System.arraycopy( flat, order[ i ] * k, coords, i * k, k );
+        }
+    }
+    
+    /**
+     * Arranges range of minima into KD-tree.
+     * 
+     * @param aFlat minima coordinates
+     * @param aOrder minima order, rearranged
+     * @param aFrom first minimum of range
+     * @param aTo last minimum of range (exclusive)
+     * @param aAxis split axis
+     */
+    private void build( double[] aFlat, int[] aOrder, int aFrom, int aTo, int aAxis ) {
+        if ( aTo - aFrom <= 1 || k == 0 ) {
+            return;
+        }
+        final int mid = ( aFrom + aTo ) >>> 1;
+        select( aFlat, aOrder, aFrom, aTo - 1, mid, aAxis );
+        final int next = ( aAxis + 1 ) % k;
+        build( aFlat, aOrder, aFrom, mid, next );
+        build( aFlat, aOrder, mid + 1, aTo, next );
+    }
+    
+    /**
+     * Quickselect: puts minimum with nth coordinate into nth position,
+     * smaller ones before it and greater ones after it.
+     * 
+     * @param aFlat minima coordinates
+     * @param aOrder minima order, rearranged
+     * @param aLo first position
+     * @param aHi last position (inclusive)
+     * @param aNth selected position
+     * @param aAxis coordinate
+     */
+    private void select( double[] aFlat, int[] aOrder, int aLo, int aHi, int aNth, int aAxis ) {
+        int lo = aLo;
+        int hi = aHi;
+        while ( lo < hi ) {
+            final double pivot = aFlat[ aOrder[ ( lo + hi ) >>> 1 ] * k + aAxis ];
+            int i = lo;
+            int j = hi;
+            while ( i <= j ) {
+                while ( aFlat[ aOrder[ i ] * k + aAxis ] < pivot ) {
+                    i++;
+                }
+                while ( aFlat[ aOrder[ j ] * k + aAxis ] > pivot ) {
+                    j--;
+                }
+                if ( i <= j ) {
+                    final int t = aOrder[ i ];
+                    aOrder[ i++ ] = aOrder[ j ];
+                    aOrder[ j-- ] = t;
+                }
+            }
+            if ( aNth <= j ) {
+                hi = j;
+            } else if ( aNth >= i ) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Does point match any of minima?
+     * Point matches minimum if their values or positions differ 
+     * less than accuracy.
+     * 
+     * @param aPoint point
+     * @param aAccuracy accuracy
+     * @return true if some minimum matches
+     */
+    boolean matches( CalculatedPoint aPoint, double aAccuracy ) {
+        return hasValue( aPoint.getValue(), aAccuracy ) || hasNear( aPoint.get(), aAccuracy );
+    }
+    
+    /**
+     * Is there minimum with value close to specified one?
+     * 
+     * @param aValue value
+     * @param aAccuracy accuracy
+     * @return true if some value differs less than accuracy
+     */
+    boolean hasValue( double aValue, double aAccuracy ) {
+        // First value greater than aValue - aAccuracy
+        final double from = aValue - aAccuracy;
+        int lo = 0;
+        int hi = n;
+        while ( lo < hi ) {
+            final int mid = ( lo + hi ) >>> 1;
+            if ( values[ mid ] > from ) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo < n && Math.abs( values[ lo ] - aValue ) < aAccuracy;
+    }
+    
+    /**
+     * Is there minimum closer to point than accuracy?
+     * 
+     * @param aPoint point coordinates
+     * @param aAccuracy accuracy, Euclidean distance
+     * @return true if some minimum is close
+     */
+    boolean hasNear( double[] aPoint, double aAccuracy ) {
+        if ( n == 0 || !( aAccuracy > 0 ) ) {
+            return false;
+        }
+        // Coordinates missing in minima are compared with zeros
+        double tail = 0;
+        for ( int i = k; i < aPoint.length; i++ ) {
+            tail += aPoint[ i ] * aPoint[ i ];
+        }
+        final double eps2 = aAccuracy * aAccuracy;
+        return tail < eps2 && search( aPoint, tail, eps2, 0, n, 0 );
+    }
+    
+    /**
+     * Searches KD-tree range for close minimum.
+     * 
+     * @param aPoint point coordinates
+     * @param aTail squared distance by coordinates missing in minima
+     * @param aEps2 squared accuracy
+     * @param aFrom first minimum of range
+     * @param aTo last minimum of range (exclusive)
+     * @param aAxis split axis
+     * @return true if some minimum is close
+     */
+    private boolean search( double[] aPoint, double aTail, double aEps2, int aFrom, int aTo, int aAxis ) {
+        if ( aFrom >= aTo ) {
+            return false;
+        }
+        final int mid = ( aFrom + aTo ) >>> 1;
+        final int offset = mid * k;
+        double dist = aTail;
+        for ( int i = 0; i < k && dist < aEps2; i++ ) {
+            final double d = coord( aPoint, i ) - coords[ offset + i ];
+            dist += d * d;
+        }
+        if ( dist < aEps2 ) {
+            return true;
+        }
+        if ( k == 0 ) {
+            return false;
+        }
+        
+        final double diff = coord( aPoint, aAxis ) - coords[ offset + aAxis ];
+        final int next = ( aAxis + 1 ) % k;
+        final boolean left = diff < 0;
+        if ( left ? search( aPoint, aTail, aEps2, aFrom, mid, next ) 
+                  : search( aPoint, aTail, aEps2, mid + 1, aTo, next ) 
+        ) {
+            return true;
+        }
+        return aTail + diff * diff < aEps2 && ( left 
+            ? search( aPoint, aTail, aEps2, mid + 1, aTo, next ) 
+            : search( aPoint, aTail, aEps2, aFrom, mid, next ) );
+    }
+    
+    /**
+     * Returns coordinate, zero if point has no such coordinate.
+     * 
+     * @param aPoint point coordinates
+     * @param aDim coordinate index
+     * @return coordinate
+     */
+    private static double coord( double[] aPoint, int aDim ) {
+        return aDim < aPoint.length ? aPoint[ aDim ] : 0;
+    }
+    
+}
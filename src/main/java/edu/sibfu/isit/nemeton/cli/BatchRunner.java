@@ -0,0 +1,737 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.cli;
+
+import edu.sibfu.isit.nemeton.Nemeton;
+import edu.sibfu.isit.nemeton.algorithms.AlgorithmBuilder;
+import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.algorithms.StopCriterion;
+import edu.sibfu.isit.nemeton.analysis.Analysis;
+import edu.sibfu.isit.nemeton.algorithms.bees.BeesAlgorithmBuilder;
+import edu.sibfu.isit.nemeton.algorithms.sac.SACBuilder;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.CubicKernel;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.LinearKernel;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.ParabolicKernel;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.SelectiveKernel;
+import edu.sibfu.isit.nemeton.algorithms.sac.kernels.TabulatedKernel;
+import edu.sibfu.isit.nemeton.controllers.providers.Functions;
+import edu.sibfu.isit.nemeton.lib.PointUtil;
+import edu.sibfu.isit.nemeton.lib.random.RandomSource;
+import edu.sibfu.isit.nemeton.models.AnalysisResult;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.HistoryWindow;
+import edu.sibfu.isit.nemeton.models.PointHistory;
+import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.RunLogWriter;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Headless batch runner.
+ * Runs algorithm on registered function several times and writes results
+ * as CSV or JSON. Swing, Jzy3D and GRAL are not loaded.
+ * 
+ * {@code
+ * java -cp Nemeton.jar edu.sibfu.isit.nemeton.cli.BatchRunner
+ *     --function <title> --algorithm sac|bees
+ *     [--goal min|max] [--runs <n>] [--format csv|json] [--output <file>]
+ *     [--unconstrained] [--seed <n>] [--random splittable|xoroshiro]
+ *     [--max-evaluations <n>] [--time-limit <ms>] [--log <directory>]
+ *     [--cache <capacity>]
+ *     [--analyse <accuracy> [--half-width <w>] [--confidence <z>]]
+ *     [--set <parameter>=<value>]...
+ * }
+ * 
+ * Runs with equal seed are reproducible: i-th run uses i-th random stream 
+ * derived from seed.
+ * 
+ * With {@code --log} search history of i-th run is streamed into run log
+ * {@code run-<i>.nlog} inside directory, see {@link RunLogWriter}; logs can
+ * be plotted with {@code Nemeton --plot <file>...}.
+ * 
+ * With {@code --cache} every run memoizes up to capacity function values,
+ * evaluations column counts only cache misses.
+ * 
+ * With {@code --analyse} runs are passed to {@link Analysis} instead and
+ * single row with success probability, its confidence interval and 
+ * evaluations statistics is written; run is successful if any of found 
+ * points is within accuracy of known minimum. {@code --half-width} enables 
+ * adaptive analysis ({@code --runs} becomes maximal amount of runs), 
+ * {@code --confidence} sets interval quantile, 1.96 by default.
+ * 
+ * SAC parameters: centre, searchRange, sampleSize, gamma, metric, 
+ *  kernel (linear, parabolic, cubic, tabulated ones with -table suffix), 
+ *  selectiveness, iterations, accuracy, starts, cullAfter, distance.
+ * Bees parameters: hivePosition, hiveSize, scouts, sources, sourceSize, 
+ *  gamma, eliteSources, onElite, onOther, maxIteration, accuracy,
+ *  islands, migrationInterval, migrants.
+ * 
+ * @author Max Balushkin
+ */
+public class BatchRunner {
+    
+    /**
+     * Output format.
+     */
+    public enum Format {
+        /**
+         * Comma-separated values, one row per run.
+         */
+        CSV,
+        /**
+         * JSON array, one object per run.
+         */
+        JSON
+    }
+    
+    /**
+     * Optimization goal.
+     */
+    public enum Goal {
+        /**
+         * Search for minimum.
+         */
+        Minimize,
+        /**
+         * Search for maximum.
+         */
+        Maximize
+    }
+    
+    private static final String USAGE = 
+        "Usage: BatchRunner --function <title> --algorithm sac|bees\n"
+        + "    [--goal min|max] [--runs <n>] [--format csv|json] [--output <file>]\n"
+        + "    [--unconstrained] [--seed <n>] [--random splittable|xoroshiro]\n"
+        + "    [--max-evaluations <n>] [--time-limit <ms>] [--log <directory>]\n"
+        + "    [--cache <capacity>]\n"
+        + "    [--analyse <accuracy> [--half-width <w>] [--confidence <z>]]\n"
+        + "    [--set <parameter>=<value>]...";
+    
+    private String function;
+    private String algorithm;
+    private Goal goal = Goal.Minimize;
+    private int runs = 1;
+    private Format format = Format.CSV;
+    private String output;
+    private String logDirectory;
+    private boolean constrained = true;
+    private Long seed;
+    private RandomSource.Factory random = RandomSource.SPLITTABLE;
+    private int cache;
+    private Double analyse;
+    private double halfWidth;
+    private double confidence = 1.96;
+    private final List<StopCriterion> criteria = new ArrayList<>();
+    private final List<String> parameters = new ArrayList<>();
+    
+    /**
+     * Runs batch experiment.
+     * 
+     * @param args the command line arguments
+     */
+    public static void main( String[] args ) {
+        System.setProperty( "java.awt.headless", "true" );
+        BatchRunner runner = new BatchRunner();
+        try {
+            runner.parse( args );
+            runner.run();
+        } catch ( IllegalArgumentException ex ) {
+            System.err.println( ex.getMessage() );
+            System.err.println( USAGE );
+            System.exit( 2 );
+        } catch ( IOException ex ) {
+            System.err.println( ex.getMessage() );
+            System.exit( 1 );
+        }
+    }
+    
+    /**
+     * Parses command line arguments.
+     * 
+     * @param aArgs arguments
+     */
+    private void parse( String[] aArgs ) {
+        for ( int i = 0; i < aArgs.length; i++ ) {
+            switch ( aArgs[ i ] ) {
+                case "--function":
+                    function = value( aArgs, ++i );
+                    break;
+                case "--algorithm":
+                    algorithm = value( aArgs, ++i ).toLowerCase( Locale.ROOT );
+                    break;
+                case "--goal":
+                    goal = value( aArgs, ++i ).toLowerCase( Locale.ROOT ).startsWith( "max" ) 
+                        ? Goal.Maximize : Goal.Minimize;
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt( value( aArgs, ++i ) );
+                    break;
+                case "--format":
+                    format = Format.valueOf( value( aArgs, ++i ).toUpperCase( Locale.ROOT ) );
+                    break;
+                case "--output":
+                    output = value( aArgs, ++i );
+                    break;
+                case "--unconstrained":
+                    constrained = false;
+                    break;
+                case "--seed":
+                    seed = Long.parseLong( value( aArgs, ++i ) );
+                    break;
+                case "--random":
+                    switch ( value( aArgs, ++i ).toLowerCase( Locale.ROOT ) ) {
+                        case "splittable":
+                            random = RandomSource.SPLITTABLE;
+                            break;
+                        case "xoroshiro":
+                            random = RandomSource.XOROSHIRO;
+                            break;
+                        default:
+                            throw new IllegalArgumentException( "Unknown random source: " + aArgs[ i ] );
+                    }
+                    break;
+                case "--max-evaluations":
+                    criteria.add( StopCriterion.maxEvaluations( Integer.parseInt( value( aArgs, ++i ) ) ) );
+                    break;
+                case "--time-limit":
+                    criteria.add( StopCriterion.wallClock( Long.parseLong( value( aArgs, ++i ) ) ) );
+                    break;
+                case "--log":
+                    logDirectory = value( aArgs, ++i );
+                    break;
+                case "--cache":
+                    cache = Integer.parseInt( value( aArgs, ++i ) );
+                    break;
+                case "--analyse":
+                    analyse = Double.parseDouble( value( aArgs, ++i ) );
+                    break;
+                case "--half-width":
+                    halfWidth = Double.parseDouble( value( aArgs, ++i ) );
+                    break;
+                case "--confidence":
+                    confidence = Double.parseDouble( value( aArgs, ++i ) );
+                    break;
+                case "--set":
+                    parameters.add( value( aArgs, ++i ) );
+                    break;
+                default:
+                    throw new IllegalArgumentException( "Unknown option: " + aArgs[ i ] );
+            }
+        }
+        if ( function == null || algorithm == null ) {
+            throw new IllegalArgumentException( "Function and algorithm are required" );
+        }
+        if ( analyse != null && ( goal == Goal.Maximize || logDirectory != null ) ) {
+            throw new IllegalArgumentException( "Analysis supports neither maximization nor run logs" );
+        }
+    }
+    
+    /**
+     * Returns option value.
+     * 
+     * @param aArgs arguments
+     * @param aIdx value index
+     * @return value
+     */
+    private static String value( String[] aArgs, int aIdx ) {
+        if ( aIdx >= aArgs.length ) {
+            throw new IllegalArgumentException( "Missing value of " + aArgs[ aIdx - 1 ] );
+        }
+        return aArgs[ aIdx ];
+    }
+    
+    /**
+     * Runs algorithm and writes results.
+     * 
+     * @throws IOException if results can't be written
+     */
+    private void run() throws IOException {
+        Nemeton.registerFunctions();
+        final NFunction f = Functions.get( function );
+        if ( f == null ) {
+            throw new IllegalArgumentException( "Unknown function: " + function );
+        }
+        
+        final AlgorithmBuilder bldr = builder( f );
+        if ( constrained ) {
+            bldr.constraint( f.constraints() );
+        }
+        bldr.history( PointHistory::discarding );
+        bldr.random( random );
+        bldr.seed( seed );
+        bldr.cache( cache );
+        criteria.forEach( bldr::stop );
+        if ( analyse != null ) {
+            final AnalysisResult result = new Analysis()
+                .adaptive( halfWidth )
+                .confidence( confidence )
+                .analyse( f, bldr, runs, analyse, ( done ) -> { } );
+            try ( PrintWriter out = writer() ) {
+                if ( format == Format.JSON ) {
+                    writeJson( out, result );
+                } else {
+                    writeCsv( out, result );
+                }
+            }
+            return;
+        }
+        if ( logDirectory != null ) {
+            Files.createDirectories( Paths.get( logDirectory ) );
+        }
+        
+        final Result[] results = IntStream.range( 0, runs )
+            .parallel()
+            .mapToObj( ( i ) -> {
+                OptimizationAlgorithm algo = bldr.build( f );
+                algo.random( bldr.newRandom( i ) );
+                if ( logDirectory != null ) {
+                    algo.history( () -> logHistory( i ) );
+                }
+                return goal == Goal.Maximize ? algo.maximize() : algo.minimize();
+            } )
+            .toArray( Result[]::new );
+        
+        try ( PrintWriter out = writer() ) {
+            if ( format == Format.JSON ) {
+                writeJson( out, f, results );
+            } else {
+                writeCsv( out, f, results );
+            }
+        }
+    }
+    
+    /**
+     * Opens results output: file if specified, standard output otherwise.
+     * 
+     * @return writer
+     * @throws IOException if output file can't be opened
+     */
+    private PrintWriter writer() throws IOException {
+        return output == null 
+            ? new PrintWriter( new OutputStreamWriter( System.out, StandardCharsets.UTF_8 ) )
+            : new PrintWriter( new OutputStreamWriter( new FileOutputStream( output ), StandardCharsets.UTF_8 ) );
+    }
+    
+    /**
+     * Creates history which streams every record into run log and keeps
+     * nothing in memory.
+     * 
+     * @param aRun run index
+     * @return history
+     */
+    private PointHistory logHistory( int aRun ) {
+        try {
+            return new PointHistory( 
+                HistoryWindow.NONE, 
+                new RunLogWriter( Paths.get( logDirectory, "run-" + aRun + ".nlog" ) ) 
+            );
+        } catch ( IOException ex ) {
+            throw new UncheckedIOException( ex );
+        }
+    }
+    
+    /**
+     * Creates algorithm builder with specified parameters.
+     * 
+     * @param aFunction optimized function
+     * @return builder
+     */
+    private AlgorithmBuilder builder( NFunction aFunction ) {
+        final int arity = aFunction.getArity();
+        switch ( algorithm ) {
+            case "sac": {
+                SACBuilder bldr = new SACBuilder().centre( PointUtil.parse( "0", arity ) );
+                for ( String param : parameters ) {
+                    configure( bldr, key( param ), param.substring( param.indexOf( '=' ) + 1 ), arity );
+                }
+                return bldr;
+            }
+            case "bees": {
+                BeesAlgorithmBuilder bldr = new BeesAlgorithmBuilder().hivePosition( PointUtil.parse( "0", arity ) );
+                for ( String param : parameters ) {
+                    configure( bldr, key( param ), param.substring( param.indexOf( '=' ) + 1 ), arity );
+                }
+                return bldr;
+            }
+            default:
+                throw new IllegalArgumentException( "Unknown algorithm: " + algorithm );
+        }
+    }
+    
+    /**
+     * Returns parameter name.
+     * 
+     * @param aParam parameter: name=value
+     * @return name
+     */
+    private static String key( String aParam ) {
+        final int idx = aParam.indexOf( '=' );
+        if ( idx <= 0 ) {
+            throw new IllegalArgumentException( "Parameter must be <name>=<value>: " + aParam );
+        }
+        return aParam.substring( 0, idx );
+    }
+    
+    /**
+     * Parses selective kernel name.
+     * 
+     * @param aName kernel name, -table suffix for tabulated kernel
+     * @return kernel
+     */
+    private static SelectiveKernel kernel( String aName ) {
+        final String name = aName.toLowerCase( Locale.ROOT );
+        final boolean tabulated = name.endsWith( "-table" );
+        final SelectiveKernel kernel;
+        switch ( tabulated ? name.substring( 0, name.length() - "-table".length() ) : name ) {
+            case "linear":
+                kernel = new LinearKernel();
+                break;
+            case "parabolic":
+                kernel = new ParabolicKernel();
+                break;
+            case "cubic":
+                kernel = new CubicKernel();
+                break;
+            default:
+                throw new IllegalArgumentException( "Unknown kernel: " + aName );
+        }
+        return tabulated ? new TabulatedKernel( kernel ) : kernel;
+    }
+    
+    /**
+     * Sets SAC algorithm parameter.
+     * 
+     * @param aBldr builder
+     * @param aKey parameter name
+     * @param aValue parameter value
+     * @param aArity function arity
+     */
+    private static void configure( SACBuilder aBldr, String aKey, String aValue, int aArity ) {
+        switch ( aKey ) {
+            case "centre":
+                aBldr.centre( PointUtil.parse( aValue, aArity ) );
+                break;
+            case "searchRange":
+                aBldr.searchRange( Double.parseDouble( aValue ) );
+                break;
+            case "sampleSize":
+                aBldr.sampleSize( Integer.parseInt( aValue ) );
+                break;
+            case "gamma":
+                aBldr.gamma( Double.parseDouble( aValue ) );
+                break;
+            case "metric":
+                aBldr.metric( Integer.parseInt( aValue ) );
+                break;
+            case "kernel":
+                aBldr.kernel( kernel( aValue ) );
+                break;
+            case "selectiveness":
+                aBldr.selectiveness( Double.parseDouble( aValue ) );
+                break;
+            case "iterations":
+                aBldr.iterations( Integer.parseInt( aValue ) );
+                break;
+            case "accuracy":
+                aBldr.accuracy( Double.parseDouble( aValue ) );
+                break;
+            case "starts":
+                aBldr.starts( Integer.parseInt( aValue ) );
+                break;
+            case "cullAfter":
+                aBldr.cullAfter( Integer.parseInt( aValue ) );
+                break;
+            case "distance":
+                aBldr.distance( Double.parseDouble( aValue ) );
+                break;
+            default:
+                throw new IllegalArgumentException( "Unknown SAC parameter: " + aKey );
+        }
+    }
+    
+    /**
+     * Sets bees algorithm parameter.
+     * 
+     * @param aBldr builder
+     * @param aKey parameter name
+     * @param aValue parameter value
+     * @param aArity function arity
+     */
+    private static void configure( BeesAlgorithmBuilder aBldr, String aKey, String aValue, int aArity ) {
+        switch ( aKey ) {
+            case "hivePosition":
+                aBldr.hivePosition( PointUtil.parse( aValue, aArity ) );
+                break;
+            case "hiveSize":
+                aBldr.hiveSize( Integer.parseInt( aValue ) );
+                break;
+            case "scouts":
+                aBldr.scouts( Integer.parseInt( aValue ) );
+                break;
+            case "sources":
+                aBldr.sources( Integer.parseInt( aValue ) );
+                break;
+            case "sourceSize":
+                aBldr.sourceSize( Integer.parseInt( aValue ) );
+                break;
+            case "gamma":
+                aBldr.gamma( Double.parseDouble( aValue ) );
+                break;
+            case "eliteSources":
+                aBldr.eliteSources( Integer.parseInt( aValue ) );
+                break;
+            case "onElite":
+                aBldr.onElite( Integer.parseInt( aValue ) );
+                break;
+            case "onOther":
+                aBldr.onOther( Integer.parseInt( aValue ) );
+                break;
+            case "maxIteration":
+                aBldr.maxIteration( Integer.parseInt( aValue ) );
+                break;
+            case "accuracy":
+                aBldr.accuracy( Double.parseDouble( aValue ) );
+                break;
+            case "islands":
+                aBldr.islands( Integer.parseInt( aValue ) );
+                break;
+            case "migrationInterval":
+                aBldr.migrationInterval( Integer.parseInt( aValue ) );
+                break;
+            case "migrants":
+                aBldr.migrants( Integer.parseInt( aValue ) );
+                break;
+            default:
+                throw new IllegalArgumentException( "Unknown bees parameter: " + aKey );
+        }
+    }
+    
+    /**
+     * Returns best solution of run.
+     * 
+     * @param aResult algorithm result
+     * @return best solution
+     */
+    private CalculatedPoint best( Result aResult ) {
+        CalculatedPoint best = null;
+        for ( CalculatedPoint point : aResult.getValues() ) {
+            if ( best == null 
+                || ( goal == Goal.Minimize && point.getValue() < best.getValue() ) 
+                || ( goal == Goal.Maximize && point.getValue() > best.getValue() ) 
+            ) {
+                best = point;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Writes results as CSV.
+     * 
+     * @param aOut output
+     * @param aFunction optimized function
+     * @param aResults algorithm results
+     */
+    private void writeCsv( PrintWriter aOut, NFunction aFunction, Result[] aResults ) {
+        final int arity = aFunction.getArity();
+        aOut.print( "run,algorithm,function,goal,iterations,evaluations,end,value" );
+        for ( int v = 0; v < arity; v++ ) {
+            aOut.print( ",x_" + v );
+        }
+        aOut.println();
+        
+        for ( int i = 0; i < aResults.length; i++ ) {
+            final Result result = aResults[ i ];
+            final CalculatedPoint best = best( result );
+            aOut.print( i );
+            aOut.print( ',' );
+            aOut.print( csv( algorithm ) );
+            aOut.print( ',' );
+            aOut.print( csv( aFunction.getTitle() ) );
+            aOut.print( ',' );
+            aOut.print( goal );
+            aOut.print( ',' );
+            aOut.print( result.getIterations() );
+            aOut.print( ',' );
+            aOut.print( result.getEvaluations() );
+            aOut.print( ',' );
+            aOut.print( csv( result.getEndClause() ) );
+            aOut.print( ',' );
+            aOut.print( best == null ? "" : Double.toString( best.getValue() ) );
+            for ( int v = 0; v < arity; v++ ) {
+                aOut.print( ',' );
+                aOut.print( best == null ? "" : Double.toString( best.get( v ) ) );
+            }
+            aOut.println();
+        }
+    }
+    
+    /**
+     * Writes results as JSON.
+     * 
+     * @param aOut output
+     * @param aFunction optimized function
+     * @param aResults algorithm results
+     */
+    private void writeJson( PrintWriter aOut, NFunction aFunction, Result[] aResults ) {
+        aOut.println( "[" );
+        for ( int i = 0; i < aResults.length; i++ ) {
+            final Result result = aResults[ i ];
+            final CalculatedPoint best = best( result );
+            aOut.print( "  {\"run\": " + i );
+            aOut.print( ", \"algorithm\": " + json( algorithm ) );
+            aOut.print( ", \"function\": " + json( aFunction.getTitle() ) );
+            aOut.print( ", \"goal\": " + json( goal.toString() ) );
+            aOut.print( ", \"iterations\": " + result.getIterations() );
+            aOut.print( ", \"evaluations\": " + result.getEvaluations() );
+            aOut.print( ", \"end\": " + json( result.getEndClause() ) );
+            if ( best != null ) {
+                aOut.print( ", \"value\": " + json( best.getValue() ) );
+                aOut.print( ", \"point\": [" );
+                final int arity = best.getArity();
+                for ( int v = 0; v < arity; v++ ) {
+                    aOut.print( ( v == 0 ? "" : ", " ) + json( best.get( v ) ) );
+                }
+                aOut.print( "]" );
+            }
+            aOut.println( i + 1 < aResults.length ? "}," : "}" );
+        }
+        aOut.println( "]" );
+    }
+    
+    /**
+     * Writes analysis result as CSV.
+     * 
+     * @param aOut output
+     * @param aResult analysis result
+     */
+    private void writeCsv( PrintWriter aOut, AnalysisResult aResult ) {
+        aOut.println( "algorithm,function,runs,success,success_lower,success_upper,evaluations_mean,evaluations_deviation" );
+        aOut.print( csv( algorithm ) );
+        aOut.print( ',' );
+        aOut.print( csv( aResult.function.getTitle() ) );
+        aOut.print( ',' );
+        aOut.print( aResult.runs );
+        aOut.print( ',' );
+        aOut.print( aResult.success );
+        aOut.print( ',' );
+        aOut.print( aResult.successLower );
+        aOut.print( ',' );
+        aOut.print( aResult.successUpper );
+        aOut.print( ',' );
+        aOut.print( Double.isNaN( aResult.meanIterations ) ? "" : Double.toString( aResult.meanIterations ) );
+        aOut.print( ',' );
+        aOut.print( Double.isNaN( aResult.evaluationsDeviation ) ? "" : Double.toString( aResult.evaluationsDeviation ) );
+        aOut.println();
+    }
+    
+    /**
+     * Writes analysis result as JSON.
+     * 
+     * @param aOut output
+     * @param aResult analysis result
+     */
+    private void writeJson( PrintWriter aOut, AnalysisResult aResult ) {
+        aOut.print( "{\"algorithm\": " + json( algorithm ) );
+        aOut.print( ", \"function\": " + json( aResult.function.getTitle() ) );
+        aOut.print( ", \"runs\": " + aResult.runs );
+        aOut.print( ", \"success\": " + json( aResult.success ) );
+        aOut.print( ", \"successLower\": " + json( aResult.successLower ) );
+        aOut.print( ", \"successUpper\": " + json( aResult.successUpper ) );
+        aOut.print( ", \"evaluationsMean\": " + json( aResult.meanIterations ) );
+        aOut.print( ", \"evaluationsDeviation\": " + json( aResult.evaluationsDeviation ) );
+        aOut.println( "}" );
+    }
+    
+    /**
+     * Escapes CSV field.
+     * 
+     * @param aValue value
+     * @return escaped value
+     */
+    private static String csv( String aValue ) {
+        if ( aValue == null ) {
+            return "";
+        }
+        if ( aValue.indexOf( ',' ) < 0 && aValue.indexOf( '"' ) < 0 && aValue.indexOf( '\n' ) < 0 ) {
+            return aValue;
+        }
+        return '"' + aValue.replace( "\"", "\"\"" ) + '"';
+    }
+    
+    /**
+     * Converts string to JSON string literal.
+     * 
+     * @param aValue value
+     * @return JSON string
+     */
+    private static String json( String aValue ) {
+        if ( aValue == null ) {
+            return "null";
+        }
+        StringBuilder bldr = new StringBuilder( "\"" );
+        for ( char ch : aValue.toCharArray() ) {
+            switch ( ch ) {
+                case '"':
+                    bldr.append( "\\\"" );
+                    break;
+                case '\\':
+                    bldr.append( "\\\\" );
+                    break;
+                case '\n':
+                    bldr.append( "\\n" );
+                    break;
+                default:
+                    if ( ch < 0x20 ) {
+                        bldr.append( String.format( "\\u%04x", (int) ch ) );
+                    } else {
+                        bldr.append( ch );
+                    }
+            }
+        }
+        return bldr.append( '"' ).toString();
+    }
+    
+    /**
+     * Converts number to JSON.
+     * 
+     * @param aValue value
+     * @return JSON number or null for NaN and infinities
+     */
+    private static String json( double aValue ) {
+        return Double.isNaN( aValue ) || Double.isInfinite( aValue ) ? "null" : Double.toString( aValue );
+    }
+    
+}
@@ -35,6 +35,7 @@ import edu.sibfu.isit.nemeton.models.CalculatedPoint;
 import edu.sibfu.isit.nemeton.framework.Pair;
 import edu.sibfu.isit.nemeton.models.Point;
 import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.RunLog;
 import edu.sibfu.isit.nemeton.views.HistoryView;
 import java.awt.Color;
 import java.util.ArrayList;
@@ -67,11 +68,45 @@ public class HistoryController {
         results = aResults;
         coordinates = new ArrayList<>();
         
-        List<DataSeries> data = generateDataSeries(aResults);
-        plot = new XYPlot();
+        plot = plot( generateDataSeries( aResults ) );
         
+        if ( !showCoordinates ) return;
+        List<Pair<String, List<DataSeries>>> coords = generateParametersSeries( aResults );
+        for ( Pair<String, List<DataSeries>> algo : coords ) {
+            coordinates.add( new Pair<>( algo.left(), plot( algo.right() ) ) );
+        }
+    }
+    
+    /**
+     * Creates new history view controller for run log.
+     * Plot data is read from mapped columns, history is not restored.
+     * 
+     * @param aView view
+     * @param aTitle run title
+     * @param aLog run log
+     * @param showCoordinates show coordinate plots?
+     */
+    public HistoryController( HistoryView aView, String aTitle, RunLog aLog, boolean showCoordinates ) {
+        view = aView;
+        results = new ArrayList<>();
+        coordinates = new ArrayList<>();
+        
+        plot = plot( generateDataSeries( aTitle, aLog ) );
+        
+        if ( !showCoordinates || aLog.size() == 0 ) return;
+        coordinates.add( new Pair<>( aTitle, plot( generateParameterSeries( aLog ) ) ) );
+    }
+    
+    /**
+     * Creates plot of data series, every series has its own colour.
+     * 
+     * @param aData data series
+     * @return plot
+     */
+    private static XYPlot plot( List<DataSeries> aData ) {
+        XYPlot plot = new XYPlot();
         Random rnd = new Random();
-        for (DataSeries series : data) {
+        for (DataSeries series : aData) {
             Color colour = new Color(rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat());
             LineRenderer lines = new DefaultLineRenderer2D();
             lines.setColor(colour);
@@ -83,25 +118,7 @@ public class HistoryController {
             plot.setPointRenderers( series, points );
         }
         plot.setLegendVisible( true );
-        
-        if ( !showCoordinates ) return;
-        List<Pair<String, List<DataSeries>>> coords = generateParametersSeries( aResults );
-        for ( Pair<String, List<DataSeries>> algo : coords ) {
-            XYPlot coordPlot = new XYPlot();
-            for ( DataSeries c : algo.right() ) {
-                Color colour = new Color(rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat());
-                LineRenderer lines = new DefaultLineRenderer2D();
-                lines.setColor(colour);
-                PointRenderer points = new DefaultPointRenderer2D();
-                points.setColor(colour);
-
-                coordPlot.add( c );
-                coordPlot.setLineRenderers( c, lines );
-                coordPlot.setPointRenderers( c, points );
-                coordPlot.setLegendVisible( true );
-            }
-            coordinates.add( new Pair<>( algo.left(), coordPlot ) );
-        }
+        return plot;
     }
     
     /**
@@ -119,7 +136,7 @@ public class HistoryController {
             final int m = history.size();
             for ( int j = 0; j < m; j++ ) {
                 List<CalculatedPoint> points = history.get ( j );
-                DataTable data = new DataTable( Integer.class, Double.class );
+                DataTable data = newTable();
                 final int o = points.size();
                 for ( int k = 0; k < o; k++ ) {
                     data.add( k, points.get( k ).getValue() );
@@ -138,6 +155,33 @@ public class HistoryController {
         return dataSeries;
     }
     
+    /**
+     * Generates values plot data of run log, one series per history row.
+     * 
+     * @param aTitle run title
+     * @param aLog run log
+     * @return values plot data
+     */
+    private List<DataSeries> generateDataSeries( String aTitle, RunLog aLog ) {
+        List<DataTable> rows = new ArrayList<>();
+        final int n = aLog.size();
+        for ( int i = 0; i < n; i++ ) {
+            final int row = aLog.row( i );
+            while ( row >= rows.size() ) {
+                rows.add( newTable() );
+            }
+            rows.get( row ).add( aLog.iteration( i ), aLog.value( i ) );
+        }
+        
+        List<DataSeries> dataSeries = new ArrayList<>();
+        for ( int j = 0; j < rows.size(); j++ ) {
+            dataSeries.add( new DataSeries( 
+                String.format( "%s-%d", aTitle, j ), rows.get( j ), 0, 1 
+            ) );
+        }
+        return dataSeries;
+    }
+    
     /**
      * Generates parameters plot data.
      * 
@@ -169,7 +213,7 @@ public class HistoryController {
             final int arity = points.get( 0 ).getArity();
             DataTable[] data = new DataTable[ arity ];
             for (int j = 0; j < arity; j++) {
-                data[ j ] = new DataTable( Integer.class, Double.class );
+                data[ j ] = newTable();
             }
             
             for ( int iter = 0; iter < o; iter++ ) {
@@ -192,6 +236,47 @@ public class HistoryController {
         return dataSeries;
     }
     
+    /**
+     * Generates coordinates plot data of the first history row of run log.
+     * 
+     * @param aLog run log
+     * @return coordinates plot data
+     */
+    private List<DataSeries> generateParameterSeries( RunLog aLog ) {
+        final int arity = aLog.getArity();
+        DataTable[] data = new DataTable[ arity ];
+        for ( int dim = 0; dim < arity; dim++ ) {
+            data[ dim ] = newTable();
+        }
+        
+        final int n = aLog.size();
+        for ( int i = 0; i < n; i++ ) {
+            if ( aLog.row( i ) != 0 ) {
+                continue;
+            }
+            final int iter = aLog.iteration( i );
+            for ( int dim = 0; dim < arity; dim++ ) {
+                data[ dim ].add( iter, aLog.coordinate( i, dim ) );
+            }
+        }
+        
+        List<DataSeries> dataSeries = new ArrayList<>();
+        for ( int dim = 0; dim < arity; dim++ ) {
+            dataSeries.add( new DataSeries( String.format( "x_%d-0", dim ), data[ dim ], 0, 1 ) );
+        }
+        return dataSeries;
+    }
+    
+    /**
+     * Creates plot data table of (iteration, value) rows.
+     * 
+     * @return data table
+     */
+    @SuppressWarnings( "unchecked" )
+    private static DataTable newTable() {
+        return new DataTable( Integer.class, Double.class );
+    }
+    
     /**
      * Returns values plot.
      * 
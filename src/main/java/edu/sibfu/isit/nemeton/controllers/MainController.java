@@ -139,10 +139,17 @@ public class MainController {
      * @param aFunction optimized function
      * @param aN amount of runs
      * @param aAccuracy analyse accuracy
+     * @param aHalfWidth target confidence interval half-width, 0 runs exactly aN
+     * @param aZ confidence quantile
      */
-    public void analyse( Goal aGoal, NFunction aFunction, int aN, double aAccuracy ) {
+    public void analyse( 
+        Goal aGoal, NFunction aFunction, int aN, double aAccuracy,
+        double aHalfWidth, double aZ
+    ) {
         List<AlgorithmBuilder> algos = collectBuilders(aFunction );
-        Analysis analyser = new Analysis();
+        Analysis analyser = new Analysis()
+            .adaptive( aHalfWidth )
+            .confidence( aZ );
         
         AnalysisView anView = new AnalysisView();
         anView.setVisible(true);
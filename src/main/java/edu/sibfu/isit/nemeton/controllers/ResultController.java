@@ -23,9 +23,9 @@
  */
 package edu.sibfu.isit.nemeton.controllers;
 
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
 import edu.sibfu.isit.nemeton.models.Point;
 import edu.sibfu.isit.nemeton.models.Result;
-import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import edu.sibfu.isit.nemeton.views.ResultView;
 import java.util.ArrayList;
 import javax.swing.DefaultListModel;
@@ -86,9 +86,8 @@ public class ResultController {
      */
     public void fillSolutionsTable( Result aResult ) {
         solutionsTableModel.setRowCount( 0 );
-        NFunction f = aResult.getFunction();
-        for ( Point point : aResult.getValues() ) {
-            solutionsTableModel.addRow( new Object[] { point, f.eval( point ) } );
+        for ( CalculatedPoint point : aResult.getValues() ) {
+            solutionsTableModel.addRow( new Object[] { point, point.getValue() } );
         }
     }
     
@@ -29,6 +29,7 @@ import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import java.util.List;
 import org.jzy3d.maths.Coord3d;
 import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.builder.Mapper;
 
 /**
  * Helper methods for Jzy3Dю
@@ -102,4 +103,19 @@ public class JzyHelper {
     public static Coord3d toCoord3d( CalculatedPoint aPoint ) {
         return new Coord3d( aPoint.get( 0 ), aPoint.get( 1 ), aPoint.getValue() );
     }
+    
+    /**
+     * Creates Jzy mapper of function of 2 variables.
+     * 
+     * @param aFunction function
+     * @return Jzy mapper
+     */
+    public static Mapper mapper( NFunction aFunction ) {
+        return new Mapper() {
+            @Override
+            public double f( double x, double y ) {
+                return aFunction.eval( x, y );
+            }
+        };
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.lib;
+
+/**
+ * In-place vector operations over primitive arrays.
+ * All operations work on the first `n` coordinates and modify the target 
+ * array, so hot loops can reuse preallocated buffers instead of creating 
+ * new points.
+ * 
+ * @author Max Balushkin
+ */
+public class VectorOps {
+    
+    /**
+     * Copies coordinates.
+     * dst = src
+     * 
+     * @param aSrc source vector
+     * @param aDst destination vector
+     * @return destination vector
+     */
+    public static double[] copy( double[] aSrc, double[] aDst ) {
+        System.arraycopy( aSrc, 0, aDst, 0, aSrc.length );
+        return aDst;
+    }
+    
+    /**
+     * Fills vector with constant.
+     * x = ( c ... c )
+     * 
+     * @param aX vector
+     * @param aC constant
+     * @return vector
+     */
+    public static double[] fill( double[] aX, double aC ) {
+        final int n = aX.length;
+        for ( int i = 0; i < n; i++ ) {
+            aX[ i ] = aC;
+        }
+        return aX;
+    }
+    
+    /**
+     * Adds vector to vector.
+     * x = x + y
+     * 
+     * @param aX modified vector
+     * @param aY added vector
+     * @return modified vector
+     */
+    public static double[] addInPlace( double[] aX, double[] aY ) {
+        final int n = Math.min( aX.length, aY.length );
+        for ( int i = 0; i < n; i++ ) {
+            aX[ i ] += aY[ i ];
+        }
+        return aX;
+    }
+    
+    /**
+     * Adds constant to specified coordinate.
+     * x_dim = x_dim + c
+     * 
+     * @param aX modified vector
+     * @param aC constant
+     * @param aDim dimension
+     * @return modified vector
+     */
+    public static double[] addInPlace( double[] aX, double aC, int aDim ) {
+        if ( aDim < aX.length ) {
+            aX[ aDim ] += aC;
+        }
+        return aX;
+    }
+    
+    /**
+     * Scaled vector addition.
+     * y = a * x + y
+     * 
+     * @param aA scale
+     * @param aX scaled vector
+     * @param aY modified vector
+     * @return modified vector
+     */
+    public static double[] axpy( double aA, double[] aX, double[] aY ) {
+        final int n = Math.min( aX.length, aY.length );
+        for ( int i = 0; i < n; i++ ) {
+            aY[ i ] += aA * aX[ i ];
+        }
+        return aY;
+    }
+    
+    /**
+     * Element-wise multiplication.
+     * x = x * y
+     * 
+     * @param aX modified vector
+     * @param aY other vector
+     * @return modified vector
+     */
+    public static double[] mulInPlace( double[] aX, double[] aY ) {
+        final int n = Math.min( aX.length, aY.length );
+        for ( int i = 0; i < n; i++ ) {
+            aX[ i ] *= aY[ i ];
+        }
+        return aX;
+    }
+    
+    /**
+     * Multiplies vector on constant.
+     * x = c * x
+     * 
+     * @param aX modified vector
+     * @param aC constant
+     * @return modified vector
+     */
+    public static double[] scaleInPlace( double[] aX, double aC ) {
+        final int n = aX.length;
+        for ( int i = 0; i < n; i++ ) {
+            aX[ i ] *= aC;
+        }
+        return aX;
+    }
+    
+    /**
+     * Vector exponentiation.
+     * x = x ^ power
+     * 
+     * @param aX modified vector
+     * @param aPower exponent
+     * @return modified vector
+     */
+    public static double[] powInPlace( double[] aX, double aPower ) {
+        final int n = aX.length;
+        if ( aPower == 1 ) {
+            return aX;
+        } else if ( aPower == 2 ) {
+            for ( int i = 0; i < n; i++ ) {
+                aX[ i ] *= aX[ i ];
+            }
+        } else if ( aPower == 0.5 ) {
+            for ( int i = 0; i < n; i++ ) {
+                aX[ i ] = Math.sqrt( aX[ i ] );
+            }
+        } else {
+            for ( int i = 0; i < n; i++ ) {
+                aX[ i ] = Math.pow( aX[ i ], aPower );
+            }
+        }
+        return aX;
+    }
+    
+}
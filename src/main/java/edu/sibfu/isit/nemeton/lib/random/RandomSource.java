@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.lib.random;
+
+/**
+ * Source of pseudo-random numbers used by algorithms.
+ * Sources are not thread-safe: every algorithm run owns its source.
+ * Sources created with equal seeds produce equal sequences.
+ * 
+ * @author Max Balushkin
+ */
+public interface RandomSource {
+    
+    /**
+     * Creates random source from seed.
+     */
+    @FunctionalInterface
+    interface Factory {
+        
+        /**
+         * Creates random source.
+         * 
+         * @param aSeed seed
+         * @return random source
+         */
+        RandomSource create( long aSeed );
+        
+    }
+    
+    /**
+     * Factory of {@link SplittableRandomSource}.
+     */
+    Factory SPLITTABLE = SplittableRandomSource::new;
+    /**
+     * Factory of {@link XoroshiroRandomSource}.
+     */
+    Factory XOROSHIRO = XoroshiroRandomSource::new;
+    
+    /**
+     * Returns next pseudo-random long.
+     * 
+     * @return random long
+     */
+    long nextLong();
+    
+    /**
+     * Returns next pseudo-random double uniformly distributed in [ 0, 1 ).
+     * 
+     * @return random double
+     */
+    default double nextDouble() {
+        return ( nextLong() >>> 11 ) * 0x1.0p-53;
+    }
+    
+    /**
+     * Returns pseudo-random int uniformly distributed in [ 0, bound ).
+     * 
+     * @param aBound upper bound, positive
+     * @return random int
+     */
+    default int nextInt( int aBound ) {
+        return (int) ( ( ( nextLong() >>> 33 ) * aBound ) >>> 31 );
+    }
+    
+    /**
+     * Derives seed of independent stream from base seed and stream index.
+     * Streams of equal seeds and indices are equal, so parallel runs are
+     * reproducible regardless of scheduling.
+     * 
+     * @param aSeed base seed
+     * @param aStream stream index
+     * @return stream seed
+     */
+    static long streamSeed( long aSeed, long aStream ) {
+        return mix( aSeed + mix( aStream + 0x9E3779B97F4A7C15L ) );
+    }
+    
+    /**
+     * Returns seed for unseeded source.
+     * 
+     * @return seed
+     */
+    static long randomSeed() {
+        return mix( System.nanoTime() ) ^ mix( Thread.currentThread().getId() + SeedSequence.next() );
+    }
+    
+    /**
+     * SplitMix64 finalizer.
+     * 
+     * @param aZ value
+     * @return mixed value
+     */
+    static long mix( long aZ ) {
+        long z = aZ;
+        z = ( z ^ ( z >>> 30 ) ) * 0xBF58476D1CE4E5B9L;
+        z = ( z ^ ( z >>> 27 ) ) * 0x94D049BB133111EBL;
+        return z ^ ( z >>> 31 );
+    }
+    
+}
@@ -0,0 +1,63 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.lib.random;
+
+/**
+ * Xoroshiro128+ generator.
+ * D. Blackman, S. Vigna - Scrambled linear pseudorandom number generators.
+ * State is initialized from seed by SplitMix64.
+ * 
+ * @author Max Balushkin
+ */
+public class XoroshiroRandomSource implements RandomSource {
+    
+    private long s0;
+    private long s1;
+    
+    /**
+     * Creates random source.
+     * 
+     * @param aSeed seed
+     */
+    public XoroshiroRandomSource( long aSeed ) {
+        s0 = RandomSource.mix( aSeed + 0x9E3779B97F4A7C15L );
+        s1 = RandomSource.mix( aSeed + 2 * 0x9E3779B97F4A7C15L );
+        if ( ( s0 | s1 ) == 0 ) {
+            s1 = 1;
+        }
+    }
+
+    @Override
+    public long nextLong() {
+        final long a = s0;
+        long b = s1;
+        final long result = a + b;
+        
+        b ^= a;
+        s0 = Long.rotateLeft( a, 24 ) ^ b ^ ( b << 16 );
+        s1 = Long.rotateLeft( b, 37 );
+        return result;
+    }
+    
+}
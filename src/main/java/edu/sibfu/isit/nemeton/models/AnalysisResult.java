@@ -47,10 +47,29 @@ public class AnalysisResult {
      */
     public final double success;
     /**
-     * Mean value of optimised function evaluations.
+     * Mean value of function evaluations in successful runs, 
+     * NaN if there are none.
      */
     public final double meanIterations;
     
+    /**
+     * Lower bound of success probability confidence interval.
+     */
+    public final double successLower;
+    /**
+     * Upper bound of success probability confidence interval.
+     */
+    public final double successUpper;
+    /**
+     * Standard deviation of function evaluations in successful runs,
+     * NaN if there are less than two.
+     */
+    public final double evaluationsDeviation;
+    /**
+     * Amount of algorithm runs actually used.
+     */
+    public final int runs;
+    
     /**
      * Creates new analysis result.
      * 
@@ -62,11 +81,35 @@ public class AnalysisResult {
     public AnalysisResult(
             OptimizationAlgorithm aAlgorithm, NFunction aFunction,
             double aSuccess, double aMeanIterations
+    ) {
+        this( aAlgorithm, aFunction, aSuccess, aSuccess, aSuccess, aMeanIterations, Double.NaN, 0 );
+    }
+    
+    /**
+     * Creates new analysis result.
+     * 
+     * @param aAlgorithm analysed algorithm
+     * @param aFunction optimised function
+     * @param aSuccess success probability
+     * @param aSuccessLower lower bound of success probability
+     * @param aSuccessUpper upper bound of success probability
+     * @param aMeanIterations evaluations mean value of successful runs
+     * @param aEvaluationsDeviation evaluations standard deviation
+     * @param aRuns amount of algorithm runs
+     */
+    public AnalysisResult(
+            OptimizationAlgorithm aAlgorithm, NFunction aFunction,
+            double aSuccess, double aSuccessLower, double aSuccessUpper,
+            double aMeanIterations, double aEvaluationsDeviation, int aRuns
     ) {
         algorithm = aAlgorithm;
         function = aFunction;
         success = aSuccess;
+        successLower = aSuccessLower;
+        successUpper = aSuccessUpper;
         meanIterations = aMeanIterations;
+        evaluationsDeviation = aEvaluationsDeviation;
+        runs = aRuns;
     }
 
     @Override
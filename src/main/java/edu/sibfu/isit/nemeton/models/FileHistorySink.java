@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes point history into text file, one record per line:
+ * <pre>
+ * point,&lt;row&gt;,&lt;value&gt;,&lt;x_0&gt;,...
+ * parameter,&lt;id&gt;,&lt;value&gt;
+ * pointParameter,&lt;id&gt;,&lt;x_0&gt;,...
+ * </pre>
+ * 
+ * @author Max Balushkin
+ */
+public class FileHistorySink implements HistorySink {
+    
+    private final Writer out;
+    
+    /**
+     * Creates sink which writes into file. Existing file is overwritten.
+     * 
+     * @param aPath file path
+     * @throws IOException if file can't be opened
+     */
+    public FileHistorySink( Path aPath ) throws IOException {
+        this( Files.newBufferedWriter( aPath, StandardCharsets.UTF_8 ) );
+    }
+    
+    /**
+     * Creates sink which writes into writer.
+     * 
+     * @param aOut writer, closed with sink
+     */
+    public FileHistorySink( Writer aOut ) {
+        out = aOut instanceof BufferedWriter ? aOut : new BufferedWriter( aOut );
+    }
+
+    @Override
+    public void point( int aRow, CalculatedPoint aPoint ) throws IOException {
+        out.write( "point," );
+        out.write( Integer.toString( aRow ) );
+        out.write( ',' );
+        out.write( Double.toString( aPoint.getValue() ) );
+        coordinates( aPoint );
+    }
+
+    @Override
+    public void parameter( String aId, double aValue ) throws IOException {
+        out.write( "parameter," );
+        out.write( aId );
+        out.write( ',' );
+        out.write( Double.toString( aValue ) );
+        out.write( '\n' );
+    }
+
+    @Override
+    public void pointParameter( String aId, Point aValue ) throws IOException {
+        out.write( "pointParameter," );
+        out.write( aId );
+        coordinates( aValue );
+    }
+    
+    /**
+     * Writes point coordinates and ends line.
+     * 
+     * @param aPoint point
+     * @throws IOException if coordinates can't be written
+     */
+    private void coordinates( Point aPoint ) throws IOException {
+        final int arity = aPoint.getArity();
+        for ( int i = 0; i < arity; i++ ) {
+            out.write( ',' );
+            out.write( Double.toString( aPoint.get( i ) ) );
+        }
+        out.write( '\n' );
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+    
+}
@@ -0,0 +1,222 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Defines which part of point history is kept in memory.
+ * Window creates lists for history rows and parameters; lists drop
+ * records which fall out of window.
+ * 
+ * @author Max Balushkin
+ */
+public abstract class HistoryWindow {
+    
+    /**
+     * Keeps every record.
+     */
+    public static final HistoryWindow ALL = new HistoryWindow() {
+        @Override
+        public <T> List<T> create() {
+            return new ArrayList<>();
+        }
+    };
+    
+    /**
+     * Keeps nothing.
+     */
+    public static final HistoryWindow NONE = new HistoryWindow() {
+        @Override
+        public <T> List<T> create() {
+            return new Discarding<>();
+        }
+    };
+    
+    /**
+     * Keeps last records.
+     * 
+     * @param aK amount of kept records (iterations)
+     * @return window
+     */
+    public static HistoryWindow last( final int aK ) {
+        if ( aK < 1 ) {
+            throw new IllegalArgumentException( "Window size must be positive" );
+        }
+        return new HistoryWindow() {
+            @Override
+            public <T> List<T> create() {
+                return new Ring<>( aK );
+            }
+        };
+    }
+    
+    /**
+     * Keeps every k-th record starting from the first one.
+     * 
+     * @param aK decimation factor
+     * @return window
+     */
+    public static HistoryWindow every( final int aK ) {
+        if ( aK < 1 ) {
+            throw new IllegalArgumentException( "Decimation factor must be positive" );
+        }
+        if ( aK == 1 ) {
+            return ALL;
+        }
+        return new HistoryWindow() {
+            @Override
+            public <T> List<T> create() {
+                return new Decimated<>( aK );
+            }
+        };
+    }
+    
+    /**
+     * Creates list which keeps records inside window.
+     * 
+     * @param <T> type of records
+     * @return new list
+     */
+    public abstract <T> List<T> create();
+    
+    /**
+     * List which ignores added elements.
+     * 
+     * @param <T> type of elements
+     */
+    private static class Discarding<T> extends AbstractList<T> {
+        
+        @Override
+        public boolean add( T aElement ) {
+            return false;
+        }
+        
+        @Override
+        public T get( int aIdx ) {
+            return Collections.<T>emptyList().get( aIdx );
+        }
+        
+        @Override
+        public int size() {
+            return 0;
+        }
+        
+    }
+    
+    /**
+     * Ring buffer: keeps last elements, the oldest one goes first.
+     * 
+     * @param <T> type of elements
+     */
+    private static class Ring<T> extends AbstractList<T> {
+        
+        private final Object[] data;
+        private int head;
+        private int size;
+        
+        /**
+         * Creates ring buffer.
+         * 
+         * @param aCapacity capacity
+         */
+        Ring( int aCapacity ) {
+            data = new Object[ aCapacity ];
+        }
+        
+        @Override
+        public boolean add( T aElement ) {
+            data[ ( head + size ) % data.length ] = aElement;
+            if ( size < data.length ) {
+                size++;
+            } else {
+                head = ( head + 1 ) % data.length;
+            }
+            modCount++;
+            return true;
+        }
+        
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public T get( int aIdx ) {
+            if ( aIdx < 0 || aIdx >= size ) {
+                throw new IndexOutOfBoundsException( "Index: " + aIdx + ", size: " + size );
+            }
+            return (T) data[ ( head + aIdx ) % data.length ];
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+        
+    }
+    
+    /**
+     * Keeps every k-th added element.
+     * 
+     * @param <T> type of elements
+     */
+    private static class Decimated<T> extends AbstractList<T> {
+        
+        private final ArrayList<T> data;
+        private final int k;
+        private long added;
+        
+        /**
+         * Creates decimated list.
+         * 
+         * @param aK decimation factor
+         */
+        Decimated( int aK ) {
+            data = new ArrayList<>();
+            k = aK;
+        }
+        
+        @Override
+        public boolean add( T aElement ) {
+            final boolean kept = added++ % k == 0;
+            if ( kept ) {
+                data.add( aElement );
+                modCount++;
+            }
+            return kept;
+        }
+        
+        @Override
+        public T get( int aIdx ) {
+            return data.get( aIdx );
+        }
+        
+        @Override
+        public int size() {
+            return data.size();
+        }
+        
+    }
+    
+}
@@ -0,0 +1,184 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+/**
+ * Distance metrics between points.
+ * Missing coordinates of point with smaller arity are zeros.
+ * Threshold checks stop as soon as partial distance exceeds threshold.
+ * 
+ * @author Max Balushkin
+ */
+public enum Metric {
+    
+    /**
+     * Euclidean distance, sqrt( sum ( a_i - b_i )^2 ).
+     */
+    EUCLIDEAN {
+        @Override
+        public double distance( double[] a, double[] b ) {
+            return Math.sqrt( SQUARED_EUCLIDEAN.distance( a, b ) );
+        }
+
+        @Override
+        public boolean withinDistance( double[] a, double[] b, double aEps ) {
+            return aEps > 0 && SQUARED_EUCLIDEAN.withinDistance( a, b, aEps * aEps );
+        }
+    },
+    
+    /**
+     * Squared Euclidean distance, sum ( a_i - b_i )^2.
+     */
+    SQUARED_EUCLIDEAN {
+        @Override
+        public double distance( double[] a, double[] b ) {
+            double res = 0;
+            for ( int i = 0, n = Math.max( a.length, b.length ); i < n; i++ ) {
+                final double d = get( a, i ) - get( b, i );
+                res += d * d;
+            }
+            return res;
+        }
+
+        @Override
+        public boolean withinDistance( double[] a, double[] b, double aEps ) {
+            double res = 0;
+            for ( int i = 0, n = Math.max( a.length, b.length ); i < n; i++ ) {
+                final double d = get( a, i ) - get( b, i );
+                res += d * d;
+                if ( !( res < aEps ) ) {
+                    return false;
+                }
+            }
+            return res < aEps;
+        }
+    },
+    
+    /**
+     * Chebyshev distance, max | a_i - b_i |.
+     */
+    CHEBYSHEV {
+        @Override
+        public double distance( double[] a, double[] b ) {
+            double res = 0;
+            for ( int i = 0, n = Math.max( a.length, b.length ); i < n; i++ ) {
+                final double d = Math.abs( get( a, i ) - get( b, i ) );
+                if ( !( d <= res ) ) {
+                    res = d;
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public boolean withinDistance( double[] a, double[] b, double aEps ) {
+            for ( int i = 0, n = Math.max( a.length, b.length ); i < n; i++ ) {
+                if ( !( Math.abs( get( a, i ) - get( b, i ) ) < aEps ) ) {
+                    return false;
+                }
+            }
+            return 0 < aEps;
+        }
+    },
+    
+    /**
+     * Manhattan distance, sum | a_i - b_i |.
+     */
+    MANHATTAN {
+        @Override
+        public double distance( double[] a, double[] b ) {
+            double res = 0;
+            for ( int i = 0, n = Math.max( a.length, b.length ); i < n; i++ ) {
+                res += Math.abs( get( a, i ) - get( b, i ) );
+            }
+            return res;
+        }
+
+        @Override
+        public boolean withinDistance( double[] a, double[] b, double aEps ) {
+            double res = 0;
+            for ( int i = 0, n = Math.max( a.length, b.length ); i < n; i++ ) {
+                res += Math.abs( get( a, i ) - get( b, i ) );
+                if ( !( res < aEps ) ) {
+                    return false;
+                }
+            }
+            return res < aEps;
+        }
+    };
+    
+    /**
+     * Calculates distance between points.
+     * 
+     * @param a coordinates of point
+     * @param b coordinates of point
+     * @return distance, NaN if some coordinate is NaN
+     */
+    public abstract double distance( double[] a, double[] b );
+    
+    /**
+     * Is distance between points less than threshold?
+     * 
+     * @param a coordinates of point
+     * @param b coordinates of point
+     * @param aEps threshold
+     * @return true if distance is less than threshold, false for NaN distance
+     */
+    public abstract boolean withinDistance( double[] a, double[] b, double aEps );
+    
+    /**
+     * Calculates distance between points.
+     * 
+     * @param a point
+     * @param b point
+     * @return distance
+     */
+    public double distance( Point a, Point b ) {
+        return distance( a.get(), b.get() );
+    }
+    
+    /**
+     * Is distance between points less than threshold?
+     * 
+     * @param a point
+     * @param b point
+     * @param aEps threshold
+     * @return true if distance is less than threshold
+     */
+    public boolean withinDistance( Point a, Point b, double aEps ) {
+        return withinDistance( a.get(), b.get(), aEps );
+    }
+    
+    /**
+     * Returns coordinate, zero if point has no such coordinate.
+     * 
+     * @param aCoords coordinates
+     * @param aDim coordinate index
+     * @return coordinate
+     */
+    private static double get( double[] aCoords, int aDim ) {
+        return aDim < aCoords.length ? aCoords[ aDim ] : 0;
+    }
+    
+}
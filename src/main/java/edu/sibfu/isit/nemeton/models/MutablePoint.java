@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import edu.sibfu.isit.nemeton.lib.VectorOps;
+
+/**
+ * Point with in-place arithmetic.
+ * Operations modify the point itself and return it, so the same buffer
+ * can be reused on every iteration. Use {@link Point#Point(Point)} to take
+ * an immutable snapshot.
+ * 
+ * @author Max Balushkin
+ */
+public class MutablePoint extends Point {
+    
+    /**
+     * Creates zero point in N-dimensions.
+     * 
+     * @param aArity point arity
+     */
+    public MutablePoint( int aArity ) {
+        super( new double[ aArity ] );
+    }
+    
+    /**
+     * Copying constructor.
+     * 
+     * @param aSrc copied point
+     */
+    public MutablePoint( Point aSrc ) {
+        super( aSrc );
+    }
+    
+    /**
+     * Sets coordinate.
+     * 
+     * @param aDim dimension
+     * @param aValue coordinate
+     * @return self
+     */
+    public MutablePoint set( int aDim, double aValue ) {
+        get()[ aDim ] = aValue;
+        return this;
+    }
+    
+    /**
+     * Copies coordinates of another point.
+     * 
+     * @param aSrc source point
+     * @return self
+     */
+    public MutablePoint set( Point aSrc ) {
+        VectorOps.copy( aSrc.get(), get() );
+        return this;
+    }
+    
+    /**
+     * Adds point to point.
+     * 
+     * @param aB other point
+     * @return self
+     */
+    public MutablePoint addInPlace( Point aB ) {
+        VectorOps.addInPlace( get(), aB.get() );
+        return this;
+    }
+    
+    /**
+     * Adds constant to specified coordinate.
+     * 
+     * @param aC constant
+     * @param aDim dimension
+     * @return self
+     */
+    public MutablePoint addInPlace( double aC, int aDim ) {
+        VectorOps.addInPlace( get(), aC, aDim );
+        return this;
+    }
+    
+    /**
+     * Adds scaled point.
+     * this = this + a * x
+     * 
+     * @param aA scale
+     * @param aX other point
+     * @return self
+     */
+    public MutablePoint axpy( double aA, Point aX ) {
+        VectorOps.axpy( aA, aX.get(), get() );
+        return this;
+    }
+    
+    /**
+     * Multiplies points.
+     * 
+     * @param aB other point
+     * @return self
+     */
+    public MutablePoint mulInPlace( Point aB ) {
+        VectorOps.mulInPlace( get(), aB.get() );
+        return this;
+    }
+    
+    /**
+     * Multiplies point on constant.
+     * 
+     * @param aC constant
+     * @return self
+     */
+    public MutablePoint scaleInPlace( double aC ) {
+        VectorOps.scaleInPlace( get(), aC );
+        return this;
+    }
+    
+    /**
+     * Point exponentiation.
+     * 
+     * @param aPower exponent
+     * @return self
+     */
+    public MutablePoint powInPlace( double aPower ) {
+        VectorOps.powInPlace( get(), aPower );
+        return this;
+    }
+    
+}
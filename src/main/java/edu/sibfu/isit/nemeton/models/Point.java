@@ -233,18 +233,14 @@ public class Point {
     }
 
     /**
-     * Calculates distance between point.
+     * Calculates Euclidean distance between points.
+     * @see Metric
      * 
      * @param b other point
      * @return distance
      */
     public double distance( Point b ) {
-        double res = 0;
-        int n = Math.max( getArity(), b.getArity() );
-        for ( int i = 0; i < n; i++ ) {
-            res += Math.pow( get( i ) - b.get( i ), n );
-        }
-        return Math.pow( res, 1.0 / n );
+        return Metric.EUCLIDEAN.distance( this, b );
     }
     
     /**
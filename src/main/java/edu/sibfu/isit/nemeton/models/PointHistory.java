@@ -23,17 +23,25 @@
  */
 package edu.sibfu.isit.nemeton.models;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents points by iterations.
+ * History keeps records inside its window in memory and optionally streams 
+ * every record into sink.
  * 
  * @author Max Balushkin
  */
 public class PointHistory {
     
+    private final HistoryWindow window;
+    private final HistorySink sink;
+    
     private final ArrayList<List<CalculatedPoint>> data;
     
     private final HashMap<String, List<Point>> pointParameters;
@@ -42,11 +50,33 @@ public class PointHistory {
     private int lastIndex;
     
     /**
-     * Creates empty point history.
+     * Creates empty point history which keeps every record.
      */
     public PointHistory() {
+        this( HistoryWindow.ALL, null );
+    }
+    
+    /**
+     * Creates empty point history.
+     * 
+     * @param aWindow kept records
+     */
+    public PointHistory( HistoryWindow aWindow ) {
+        this( aWindow, null );
+    }
+    
+    /**
+     * Creates empty point history.
+     * 
+     * @param aWindow kept records
+     * @param aSink receiver of every record, may be null
+     */
+    public PointHistory( HistoryWindow aWindow, HistorySink aSink ) {
+        window = aWindow;
+        sink = aSink;
+        
         data = new ArrayList<>();
-        data.add(new ArrayList<>());
+        data.add( window.create() );
         lastIndex = 0;
         
         parameters = new HashMap<>();
@@ -62,10 +92,17 @@ public class PointHistory {
     public void addParameter( String aId, double aValue ) {
         List<Double> params = parameters.get( aId );
         if ( params == null ) {
-            params = new ArrayList<>();
+            params = window.create();
             parameters.put( aId, params );
         }
         params.add( aValue );
+        if ( sink != null ) {
+            try {
+                sink.parameter( aId, aValue );
+            } catch ( IOException ex ) {
+                throw new UncheckedIOException( ex );
+            }
+        }
     }
     
     /**
@@ -77,10 +114,17 @@ public class PointHistory {
     public void addPointParameter( String aId, Point aValue ) {
         List<Point> params = pointParameters.get( aId );
         if ( params == null ) {
-            params = new ArrayList<>();
+            params = window.create();
             pointParameters.put( aId, params );
         }
         params.add( aValue );
+        if ( sink != null ) {
+            try {
+                sink.pointParameter( aId, aValue );
+            } catch ( IOException ex ) {
+                throw new UncheckedIOException( ex );
+            }
+        }
     }
     
     /**
@@ -119,10 +163,17 @@ public class PointHistory {
      */
     public void add( int aIdx, CalculatedPoint aPoint ) {
         while ( aIdx >= data.size() ) {
-            data.add( new ArrayList<>() );
+            data.add( window.create() );
         }
         data.get( aIdx ).add( aPoint );
         lastIndex = aIdx;
+        if ( sink != null ) {
+            try {
+                sink.point( aIdx, aPoint );
+            } catch ( IOException ex ) {
+                throw new UncheckedIOException( ex );
+            }
+        }
     }
     
     /**
@@ -141,7 +192,7 @@ public class PointHistory {
      * @param aPoint Point
      */
     public void add( CalculatedPoint aPoint ) {
-        data.get( lastIndex ).add( aPoint );
+        add( lastIndex, aPoint );
     }
     
     /**
@@ -154,8 +205,88 @@ public class PointHistory {
         add(new CalculatedPoint( aValue, aPoint ) );
     }
     
+    /**
+     * Finishes recording: closes sink.
+     * Records inside window are still available.
+     */
+    public void close() {
+        if ( sink == null ) {
+            return;
+        }
+        try {
+            sink.close();
+        } catch ( IOException ex ) {
+            throw new UncheckedIOException( ex );
+        }
+    }
+    
+    /**
+     * Feeds records inside window into sink: points row by row, then
+     * parameters and point parameters. Sink is not closed.
+     * 
+     * @param aSink receiver of records
+     * @throws IOException if sink fails
+     */
+    public void replay( HistorySink aSink ) throws IOException {
+        for ( int row = 0; row < data.size(); row++ ) {
+            for ( CalculatedPoint point : data.get( row ) ) {
+                aSink.point( row, point );
+            }
+        }
+        for ( Map.Entry<String, List<Double>> param : parameters.entrySet() ) {
+            for ( double value : param.getValue() ) {
+                aSink.parameter( param.getKey(), value );
+            }
+        }
+        for ( Map.Entry<String, List<Point>> param : pointParameters.entrySet() ) {
+            for ( Point value : param.getValue() ) {
+                aSink.pointParameter( param.getKey(), value );
+            }
+        }
+    }
+    
+    /**
+     * Returns sink which adds points into rows of this history shifted 
+     * by offset. Parts of run recording in parallel may share history 
+     * through such sinks: adding is synchronized on history, parameters 
+     * and closing are ignored.
+     * 
+     * @param aOffset row offset
+     * @return sink
+     */
+    public HistorySink offset( final int aOffset ) {
+        return new HistorySink() {
+            @Override
+            public void point( int aRow, CalculatedPoint aPoint ) {
+                synchronized ( PointHistory.this ) {
+                    add( aOffset + aRow, aPoint );
+                }
+            }
+            
+            @Override
+            public void parameter( String aId, double aValue ) { }
+            
+            @Override
+            public void pointParameter( String aId, Point aValue ) { }
+            
+            @Override
+            public void close() { }
+        };
+    }
+    
+    /**
+     * Returns history that keeps nothing. 
+     * Suitable for runs which results are not plotted, e.g. analysis.
+     * 
+     * @return new history
+     */
+    public static PointHistory discarding() {
+        return new PointHistory( HistoryWindow.NONE );
+    }
+    
     /**
      * Returns history row.
+     * Row contains points inside history window.
      * 
      * @param aIdx Row index
      * @return List of points
@@ -170,7 +301,7 @@ public class PointHistory {
      * @return Row count
      */
     public int size() {
-        return lastIndex + 1;
+        return data.size();
     }
     
 }
@@ -25,6 +25,8 @@ package edu.sibfu.isit.nemeton.models;
 
 import edu.sibfu.isit.nemeton.models.functions.NFunction;
 import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Contains result of algorithm run.
@@ -40,6 +42,7 @@ public class Result {
     private final int iterations;
     private final int evaluations;
     private final double accuracy;
+    private double rejectionRate;
     
     private PointHistory history;
     private String endClause;
@@ -117,6 +120,29 @@ public class Result {
         history = aHistory;
     }
     
+    /**
+     * Writes search history kept in memory into run log.
+     * @see RunLog
+     * 
+     * @param aPath file path, existing file is overwritten
+     * @throws IOException if log can't be written
+     */
+    public void writeLog( Path aPath ) throws IOException {
+        try ( RunLogWriter log = new RunLogWriter( aPath ) ) {
+            history.replay( log );
+        }
+    }
+    
+    /**
+     * Replaces search history with one loaded from run log.
+     * 
+     * @param aLog run log
+     * @param aWindow kept records
+     */
+    public void readLog( RunLog aLog, HistoryWindow aWindow ) {
+        history = aLog.toHistory( aWindow );
+    }
+    
     /**
      * Sets algorithm end clause.
      * 
@@ -162,6 +188,24 @@ public class Result {
         return accuracy;
     }
 
+    /**
+     * Returns share of sampled candidates rejected by constraints.
+     * 
+     * @return rejection rate
+     */
+    public double getRejectionRate() {
+        return rejectionRate;
+    }
+    
+    /**
+     * Sets share of sampled candidates rejected by constraints.
+     * 
+     * @param aRate rejection rate
+     */
+    public void setRejectionRate( double aRate ) {
+        rejectionRate = aRate;
+    }
+
     @Override
     public String toString() {
         return algorithm.toString();
@@ -0,0 +1,479 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memory-mapped reader of run log written by {@link RunLogWriter}.
+ * Only block headers are read when log is opened; records are accessed
+ * in place by index. Log is mapped as a whole, blocks of logs larger 
+ * than 2 GiB are mapped one by one.
+ * 
+ * @author Max Balushkin
+ */
+public class RunLog implements Closeable {
+    
+    private final FileChannel channel;
+    
+    private final List<Block> points;
+    private final Map<String, List<Block>> parameters;
+    private final Map<String, List<Block>> pointParameters;
+    private final int size;
+    private final int arity;
+    
+    /**
+     * Opens run log.
+     * 
+     * @param aPath file path
+     * @throws IOException if file can't be read or is not a run log
+     */
+    public RunLog( Path aPath ) throws IOException {
+        channel = FileChannel.open( aPath, StandardOpenOption.READ );
+        points = new ArrayList<>();
+        parameters = new LinkedHashMap<>();
+        pointParameters = new LinkedHashMap<>();
+        
+        try {
+            final long length = channel.size();
+            ByteBuffer header = ByteBuffer.allocate( 12 );
+            read( header, 0 );
+            if ( header.getLong() != RunLogWriter.MAGIC ) {
+                throw new IOException( "Not a run log: " + aPath );
+            }
+            if ( header.getInt() != RunLogWriter.VERSION ) {
+                throw new IOException( "Unsupported run log version: " + aPath );
+            }
+
+            final MappedByteBuffer whole = length <= Integer.MAX_VALUE 
+                ? channel.map( FileChannel.MapMode.READ_ONLY, 0, length ) : null;
+            int total = 0;
+            int dim = 0;
+            long position = 12;
+            ByteBuffer blockHeader = ByteBuffer.allocate( 11 );
+            while ( position < length ) {
+                blockHeader.clear();
+                read( blockHeader, position );
+                final byte kind = blockHeader.get();
+                final int blockArity = blockHeader.getInt();
+                final int count = blockHeader.getInt();
+                final byte[] id = new byte[ blockHeader.getShort() ];
+                read( ByteBuffer.wrap( id ), position + 11 );
+                position += 11 + id.length;
+
+                final long bytes = (long) count * columnsSize( kind, blockArity );
+                if ( position + bytes > length ) {
+                    throw new IOException( "Unexpected end of run log" );
+                }
+                final ByteBuffer data = whole != null 
+                    ? region( whole, (int) position, (int) bytes ) 
+                    : channel.map( FileChannel.MapMode.READ_ONLY, position, bytes );
+                position += bytes;
+                
+                switch ( kind ) {
+                    case RunLogWriter.POINTS:
+                        points.add( new Block( kind, blockArity, count, total, data ) );
+                        total += count;
+                        dim = blockArity;
+                        break;
+                    case RunLogWriter.PARAMETERS:
+                    case RunLogWriter.POINT_PARAMETERS: {
+                        final List<Block> blocks = blocks( 
+                            kind == RunLogWriter.PARAMETERS ? parameters : pointParameters, 
+                            new String( id, StandardCharsets.UTF_8 ) 
+                        );
+                        blocks.add( new Block( kind, blockArity, count, size( blocks ), data ) );
+                        break;
+                    }
+                    default:
+                        throw new IOException( "Corrupted run log: " + aPath );
+                }
+            }
+            size = total;
+            arity = dim;
+        } catch ( IOException | RuntimeException ex ) {
+            channel.close();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Returns amount of points.
+     * 
+     * @return amount of points
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns points arity.
+     * 
+     * @return arity
+     */
+    public int getArity() {
+        return arity;
+    }
+    
+    /**
+     * Returns history row of i-th point.
+     * 
+     * @param aIdx point index
+     * @return row index
+     */
+    public int row( int aIdx ) {
+        Block block = find( points, aIdx );
+        return block.rows.get( aIdx - block.offset );
+    }
+    
+    /**
+     * Returns iteration of i-th point (its position in history row).
+     * 
+     * @param aIdx point index
+     * @return iteration
+     */
+    public int iteration( int aIdx ) {
+        Block block = find( points, aIdx );
+        return block.iterations.get( aIdx - block.offset );
+    }
+    
+    /**
+     * Returns function value in i-th point.
+     * 
+     * @param aIdx point index
+     * @return function value
+     */
+    public double value( int aIdx ) {
+        Block block = find( points, aIdx );
+        return block.values.get( aIdx - block.offset );
+    }
+    
+    /**
+     * Returns coordinate of i-th point.
+     * 
+     * @param aIdx point index
+     * @param aDim dimension
+     * @return coordinate
+     */
+    public double coordinate( int aIdx, int aDim ) {
+        Block block = find( points, aIdx );
+        return block.coords[ aDim ].get( aIdx - block.offset );
+    }
+    
+    /**
+     * Returns i-th point.
+     * 
+     * @param aIdx point index
+     * @return point
+     */
+    public CalculatedPoint point( int aIdx ) {
+        Block block = find( points, aIdx );
+        return block.point( aIdx - block.offset );
+    }
+    
+    /**
+     * Returns ids of logged parameters.
+     * 
+     * @return parameter ids
+     */
+    public Set<String> parameters() {
+        return Collections.unmodifiableSet( parameters.keySet() );
+    }
+    
+    /**
+     * Returns ids of logged point parameters.
+     * 
+     * @return point parameter ids
+     */
+    public Set<String> pointParameters() {
+        return Collections.unmodifiableSet( pointParameters.keySet() );
+    }
+    
+    /**
+     * Returns parameter values by iterations.
+     * 
+     * @param aId parameter id
+     * @return parameter values or null if there is no such parameter
+     */
+    public double[] parameter( String aId ) {
+        List<Block> blocks = parameters.get( aId );
+        if ( blocks == null ) {
+            return null;
+        }
+        Block last = blocks.get( blocks.size() - 1 );
+        double[] out = new double[ last.offset + last.count ];
+        for ( Block block : blocks ) {
+            block.values.duplicate().get( out, block.offset, block.count );
+        }
+        return out;
+    }
+    
+    /**
+     * Returns point parameter values by iterations.
+     * 
+     * @param aId parameter id
+     * @return parameter values or null if there is no such parameter
+     */
+    public List<Point> pointParameter( String aId ) {
+        List<Block> blocks = pointParameters.get( aId );
+        if ( blocks == null ) {
+            return null;
+        }
+        List<Point> out = new ArrayList<>();
+        for ( Block block : blocks ) {
+            for ( int i = 0; i < block.count; i++ ) {
+                out.add( new Point( block.coordinates( i ) ) );
+            }
+        }
+        return out;
+    }
+    
+    /**
+     * Restores point history.
+     * 
+     * @param aWindow kept records
+     * @return point history
+     */
+    public PointHistory toHistory( HistoryWindow aWindow ) {
+        PointHistory history = new PointHistory( aWindow );
+        for ( Block block : points ) {
+            for ( int i = 0; i < block.count; i++ ) {
+                history.add( block.rows.get( i ), block.point( i ) );
+            }
+        }
+        for ( String id : parameters.keySet() ) {
+            for ( double value : parameter( id ) ) {
+                history.addParameter( id, value );
+            }
+        }
+        for ( String id : pointParameters.keySet() ) {
+            for ( Point value : pointParameter( id ) ) {
+                history.addPointParameter( id, value );
+            }
+        }
+        return history;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    /**
+     * Reads buffer from channel.
+     * 
+     * @param aBuffer buffer
+     * @param aPosition file position
+     * @throws IOException if file is too short
+     */
+    private void read( ByteBuffer aBuffer, long aPosition ) throws IOException {
+        long position = aPosition;
+        while ( aBuffer.hasRemaining() ) {
+            final int read = channel.read( aBuffer, position );
+            if ( read < 0 ) {
+                throw new IOException( "Unexpected end of run log" );
+            }
+            position += read;
+        }
+        aBuffer.flip();
+    }
+    
+    /**
+     * Returns region of mapped log.
+     * 
+     * @param aWhole mapped log
+     * @param aPosition region start
+     * @param aBytes region size
+     * @return region
+     */
+    private static ByteBuffer region( ByteBuffer aWhole, int aPosition, int aBytes ) {
+        ByteBuffer region = aWhole.duplicate();
+        region.limit( aPosition + aBytes ).position( aPosition );
+        return region.slice();
+    }
+    
+    /**
+     * Returns size of one record.
+     * 
+     * @param aKind block kind
+     * @param aArity point arity
+     * @return record size in bytes
+     */
+    private static int columnsSize( byte aKind, int aArity ) {
+        switch ( aKind ) {
+            case RunLogWriter.POINTS:
+                return 4 + 4 + 8 + 8 * aArity;
+            case RunLogWriter.PARAMETERS:
+                return 4 + 8;
+            default:
+                return 4 + 8 * aArity;
+        }
+    }
+    
+    /**
+     * Returns blocks of parameter.
+     * 
+     * @param aBlocks blocks by parameters
+     * @param aId parameter id
+     * @return parameter blocks
+     */
+    private static List<Block> blocks( Map<String, List<Block>> aBlocks, String aId ) {
+        List<Block> blocks = aBlocks.get( aId );
+        if ( blocks == null ) {
+            blocks = new ArrayList<>();
+            aBlocks.put( aId, blocks );
+        }
+        return blocks;
+    }
+    
+    /**
+     * Returns amount of records in blocks.
+     * 
+     * @param aBlocks blocks
+     * @return amount of records
+     */
+    private static int size( List<Block> aBlocks ) {
+        int size = 0;
+        for ( Block block : aBlocks ) {
+            size += block.count;
+        }
+        return size;
+    }
+    
+    /**
+     * Finds block which contains record.
+     * 
+     * @param aBlocks blocks ordered by offset
+     * @param aIdx record index
+     * @return block
+     */
+    private static Block find( List<Block> aBlocks, int aIdx ) {
+        int lo = 0;
+        int hi = aBlocks.size() - 1;
+        while ( lo <= hi ) {
+            final int mid = ( lo + hi ) >>> 1;
+            final Block block = aBlocks.get( mid );
+            if ( aIdx < block.offset ) {
+                hi = mid - 1;
+            } else if ( aIdx >= block.offset + block.count ) {
+                lo = mid + 1;
+            } else {
+                return block;
+            }
+        }
+        throw new IndexOutOfBoundsException( "Index: " + aIdx );
+    }
+    
+    /**
+     * Mapped columns of one block.
+     */
+    private static class Block {
+        
+        private final int count;
+        private final int offset;
+        
+        private final IntBuffer rows;
+        private final IntBuffer iterations;
+        private final DoubleBuffer values;
+        private final DoubleBuffer[] coords;
+        
+        /**
+         * Creates column views of mapped block.
+         * 
+         * @param aKind block kind
+         * @param aArity point arity
+         * @param aCount amount of records
+         * @param aOffset index of the first record
+         * @param aData mapped columns
+         */
+        Block( byte aKind, int aArity, int aCount, int aOffset, ByteBuffer aData ) {
+            count = aCount;
+            offset = aOffset;
+            
+            rows = aKind == RunLogWriter.POINTS ? column( aData, 4 * count ).asIntBuffer() : null;
+            iterations = column( aData, 4 * count ).asIntBuffer();
+            values = aKind != RunLogWriter.POINT_PARAMETERS 
+                ? column( aData, 8 * count ).asDoubleBuffer() : null;
+            coords = new DoubleBuffer[ aArity ];
+            for ( int v = 0; v < aArity; v++ ) {
+                coords[ v ] = column( aData, 8 * count ).asDoubleBuffer();
+            }
+        }
+        
+        /**
+         * Cuts next column from data.
+         * 
+         * @param aData data
+         * @param aBytes column size
+         * @return column
+         */
+        private static ByteBuffer column( ByteBuffer aData, int aBytes ) {
+            ByteBuffer column = aData.slice();
+            column.limit( aBytes );
+            aData.position( aData.position() + aBytes );
+            return column;
+        }
+        
+        /**
+         * Returns coordinates of record.
+         * 
+         * @param aIdx record index inside block
+         * @return coordinates
+         */
+        double[] coordinates( int aIdx ) {
+            double[] x = new double[ coords.length ];
+            for ( int v = 0; v < x.length; v++ ) {
+                x[ v ] = coords[ v ].get( aIdx );
+            }
+            return x;
+        }
+        
+        /**
+         * Returns point of record.
+         * 
+         * @param aIdx record index inside block
+         * @return point
+         */
+        CalculatedPoint point( int aIdx ) {
+            return new CalculatedPoint( values.get( aIdx ), coordinates( aIdx ) );
+        }
+        
+    }
+    
+}
@@ -0,0 +1,290 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes point history into binary column-oriented run log.
+ * Records are buffered and appended as blocks through file channel.
+ * 
+ * File starts with {@link #MAGIC} and format version (int), then blocks 
+ * follow. Every block consists of header and columns of equal length:
+ * <pre>
+ * byte kind, int arity, int count, short id length, id (UTF-8)
+ * {@link #POINTS}:           int[] row, int[] iteration, double[] value, arity &times; double[] x
+ * {@link #PARAMETERS}:       int[] iteration, double[] value
+ * {@link #POINT_PARAMETERS}: int[] iteration, arity &times; double[] x
+ * </pre>
+ * Iteration is position of record in its row (parameter).
+ * All numbers are big-endian.
+ * @see RunLog
+ * 
+ * @author Max Balushkin
+ */
+public class RunLogWriter implements HistorySink {
+    
+    /**
+     * File signature.
+     */
+    public static final long MAGIC = 0x4E4D544E4C4F4731L;
+    /**
+     * Format version.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Block of points.
+     */
+    public static final byte POINTS = 0;
+    /**
+     * Block of parameter values.
+     */
+    public static final byte PARAMETERS = 1;
+    /**
+     * Block of point parameter values.
+     */
+    public static final byte POINT_PARAMETERS = 2;
+    /**
+     * Default amount of records in block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 65536;
+    
+    private final FileChannel channel;
+    private final int blockSize;
+    
+    private Block points;
+    private final Map<String, Block> parameters;
+    private final Map<String, Block> pointParameters;
+    private final Map<Integer, int[]> rowIterations;
+    
+    /**
+     * Creates run log. Existing file is overwritten.
+     * 
+     * @param aPath file path
+     * @throws IOException if file can't be created
+     */
+    public RunLogWriter( Path aPath ) throws IOException {
+        this( aPath, DEFAULT_BLOCK_SIZE );
+    }
+    
+    /**
+     * Creates run log. Existing file is overwritten.
+     * 
+     * @param aPath file path
+     * @param aBlockSize maximum amount of records in block
+     * @throws IOException if file can't be created
+     */
+    public RunLogWriter( Path aPath, int aBlockSize ) throws IOException {
+        channel = FileChannel.open( aPath, 
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, 
+            StandardOpenOption.TRUNCATE_EXISTING 
+        );
+        blockSize = aBlockSize;
+        parameters = new LinkedHashMap<>();
+        pointParameters = new LinkedHashMap<>();
+        rowIterations = new HashMap<>();
+        
+        ByteBuffer header = ByteBuffer.allocate( 12 );
+        header.putLong( MAGIC ).putInt( VERSION ).flip();
+        write( header );
+    }
+
+    @Override
+    public void point( int aRow, CalculatedPoint aPoint ) throws IOException {
+        if ( points == null ) {
+            points = new Block( POINTS, "", aPoint.getArity() );
+        }
+        int[] iteration = rowIterations.get( aRow );
+        if ( iteration == null ) {
+            iteration = new int[ 1 ];
+            rowIterations.put( aRow, iteration );
+        }
+        points.add( aRow, iteration[ 0 ]++, aPoint.getValue(), aPoint );
+    }
+
+    @Override
+    public void parameter( String aId, double aValue ) throws IOException {
+        Block block = parameters.get( aId );
+        if ( block == null ) {
+            block = new Block( PARAMETERS, aId, 0 );
+            parameters.put( aId, block );
+        }
+        block.add( 0, block.written + block.count, aValue, null );
+    }
+
+    @Override
+    public void pointParameter( String aId, Point aValue ) throws IOException {
+        Block block = pointParameters.get( aId );
+        if ( block == null ) {
+            block = new Block( POINT_PARAMETERS, aId, aValue.getArity() );
+            pointParameters.put( aId, block );
+        }
+        block.add( 0, block.written + block.count, 0, aValue );
+    }
+    
+    /**
+     * Appends buffered records to file.
+     * 
+     * @throws IOException if records can't be written
+     */
+    public void flush() throws IOException {
+        if ( points != null ) {
+            points.flush();
+        }
+        for ( Block block : parameters.values() ) {
+            block.flush();
+        }
+        for ( Block block : pointParameters.values() ) {
+            block.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+    
+    /**
+     * Writes whole buffer into channel.
+     * 
+     * @param aBuffer buffer
+     * @throws IOException if buffer can't be written
+     */
+    private void write( ByteBuffer aBuffer ) throws IOException {
+        while ( aBuffer.hasRemaining() ) {
+            channel.write( aBuffer );
+        }
+    }
+    
+    /**
+     * Buffered columns of one block.
+     */
+    private class Block {
+        
+        private final byte kind;
+        private final byte[] id;
+        private final int arity;
+        
+        private final int[] rows;
+        private final int[] iterations;
+        private final double[] values;
+        private final double[] coords;
+        
+        private int count;
+        private int written;
+        
+        /**
+         * Creates empty block.
+         * 
+         * @param aKind block kind
+         * @param aId parameter id
+         * @param aArity point arity
+         */
+        Block( byte aKind, String aId, int aArity ) {
+            kind = aKind;
+            id = aId.getBytes( StandardCharsets.UTF_8 );
+            arity = aArity;
+            
+            rows = kind == POINTS ? new int[ blockSize ] : null;
+            iterations = new int[ blockSize ];
+            values = kind != POINT_PARAMETERS ? new double[ blockSize ] : null;
+            coords = new double[ blockSize * arity ];
+        }
+        
+        /**
+         * Adds record to block. Full block is flushed.
+         * 
+         * @param aRow row index
+         * @param aIteration iteration
+         * @param aValue value
+         * @param aPoint point
+         * @throws IOException if full block can't be written
+         */
+        void add( int aRow, int aIteration, double aValue, Point aPoint ) throws IOException {
+            if ( rows != null ) {
+                rows[ count ] = aRow;
+            }
+            iterations[ count ] = aIteration;
+            if ( values != null ) {
+                values[ count ] = aValue;
+            }
+            // Column-major: coordinates of dimension v are contiguous
+            for ( int v = 0; v < arity; v++ ) {
+                coords[ v * blockSize + count ] = aPoint.get( v );
+            }
+            if ( ++count == blockSize ) {
+                flush();
+            }
+        }
+        
+        /**
+         * Appends buffered records to file.
+         * 
+         * @throws IOException if block can't be written
+         */
+        void flush() throws IOException {
+            if ( count == 0 ) {
+                return;
+            }
+            final int columns = ( rows != null ? 4 : 0 ) + 4 
+                + ( values != null ? 8 : 0 ) + 8 * arity;
+            ByteBuffer buffer = ByteBuffer.allocate( 11 + id.length + count * columns );
+            buffer.put( kind ).putInt( arity ).putInt( count )
+                .putShort( (short) id.length ).put( id );
+            if ( rows != null ) {
+                buffer.asIntBuffer().put( rows, 0, count );
+                buffer.position( buffer.position() + 4 * count );
+            }
+            buffer.asIntBuffer().put( iterations, 0, count );
+            buffer.position( buffer.position() + 4 * count );
+            if ( values != null ) {
+                buffer.asDoubleBuffer().put( values, 0, count );
+                buffer.position( buffer.position() + 8 * count );
+            }
+            for ( int v = 0; v < arity; v++ ) {
+                buffer.asDoubleBuffer().put( coords, v * blockSize, count );
+                buffer.position( buffer.position() + 8 * count );
+            }
+            buffer.flip();
+            write( buffer );
+            
+            written += count;
+            count = 0;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models.functions;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Function which memoizes its values.
+ * Values are keyed on exact coordinates; least recently used values are 
+ * evicted when cache is full. Cache is thread-safe, so it can be used with
+ * parallel batch evaluation.
+ * 
+ * @author Max Balushkin
+ */
+public class CachedFunction extends NFunction {
+    
+    /**
+     * Cache key: exact point coordinates.
+     */
+    private static final class Key {
+        
+        private final double[] x;
+        private final int hash;
+        
+        /**
+         * Creates new key.
+         * 
+         * @param aX coordinates, not copied
+         */
+        Key( double[] aX ) {
+            x = aX;
+            hash = Arrays.hashCode( aX );
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals( Object aObj ) {
+            if ( this == aObj ) {
+                return true;
+            }
+            if ( !( aObj instanceof Key ) ) {
+                return false;
+            }
+            return Arrays.equals( x, ( (Key) aObj ).x );
+        }
+        
+    }
+    
+    private final int capacity;
+    private final LinkedHashMap<Key, Double> cache;
+    
+    private final LongAdder hits;
+    private final LongAdder misses;
+    
+    /**
+     * Creates memoizing copy of function.
+     * 
+     * @param aSrc cached function
+     * @param aCapacity maximal amount of cached values
+     */
+    public CachedFunction( NFunction aSrc, int aCapacity ) {
+        super( aSrc );
+        capacity = aCapacity;
+        cache = new LinkedHashMap<Key, Double>( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<Key, Double> aEldest ) {
+                return size() > capacity;
+            }
+        };
+        hits = new LongAdder();
+        misses = new LongAdder();
+    }
+
+    @Override
+    public double eval( double[] aX ) {
+        final Key key = new Key( Arrays.copyOf( aX, aX.length ) );
+        Double value;
+        synchronized ( cache ) {
+            value = cache.get( key );
+        }
+        if ( value != null ) {
+            hits.increment();
+            return value;
+        }
+        
+        misses.increment();
+        final double result = super.eval( aX );
+        synchronized ( cache ) {
+            cache.put( key, result );
+        }
+        return result;
+    }
+
+    @Override
+    public double eval( double aX, double aY ) {
+        return eval( new double[] { aX, aY } );
+    }
+
+    @Override
+    protected void evalRange( double[] aCoords, int aArity, double[] aOut, int aFrom, int aTo ) {
+        final double[] x = new double[ aArity ];
+        for ( int i = aFrom; i < aTo; i++ ) {
+            System.arraycopy( aCoords, i * aArity, x, 0, aArity );
+            aOut[ i ] = eval( x );
+        }
+    }
+    
+    /**
+     * Returns maximal amount of cached values.
+     * 
+     * @return capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+    
+    /**
+     * Returns amount of cached values.
+     * 
+     * @return cache size
+     */
+    public int size() {
+        synchronized ( cache ) {
+            return cache.size();
+        }
+    }
+    
+    /**
+     * Returns amount of evaluations answered from cache.
+     * 
+     * @return cache hits
+     */
+    public long hits() {
+        return hits.sum();
+    }
+    
+    /**
+     * Returns amount of evaluations of underlying function.
+     * 
+     * @return cache misses
+     */
+    public long misses() {
+        return misses.sum();
+    }
+    
+    /**
+     * Drops cached values and resets counters.
+     */
+    public void clear() {
+        synchronized ( cache ) {
+            cache.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+    
+}
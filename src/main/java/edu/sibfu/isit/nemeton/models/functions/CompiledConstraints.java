@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models.functions;
+
+import edu.sibfu.isit.nemeton.models.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Constraints compiled for fast checking.
+ * Range constraints are merged into single box stored in primitive arrays;
+ * other constraints are checked one by one after the box.
+ * 
+ * @author Max Balushkin
+ */
+public class CompiledConstraints implements Constraint {
+    
+    private final int arity;
+    private final double[] lo;
+    private final double[] hi;
+    private final Constraint[] others;
+    
+    /**
+     * Compiles constraints.
+     * 
+     * @param aConstraints constraints
+     * @param aArity point arity
+     */
+    public CompiledConstraints( List<Constraint> aConstraints, int aArity ) {
+        arity = aArity;
+        lo = new double[ aArity ];
+        hi = new double[ aArity ];
+        Arrays.fill( lo, Double.NEGATIVE_INFINITY );
+        Arrays.fill( hi, Double.POSITIVE_INFINITY );
+        
+        List<Constraint> rest = new ArrayList<>();
+        for ( Constraint c : aConstraints ) {
+            if ( c instanceof RangeConstraint ) {
+                final RangeConstraint range = (RangeConstraint) c;
+                final int n = Math.min( aArity, range.getArity() );
+                for ( int v = 0; v < n; v++ ) {
+                    lo[ v ] = Math.max( lo[ v ], range.lower( v ) );
+                    hi[ v ] = Math.min( hi[ v ], range.upper( v ) );
+                }
+            } else if ( c instanceof CompiledConstraints ) {
+                final CompiledConstraints compiled = (CompiledConstraints) c;
+                final int n = Math.min( aArity, compiled.arity );
+                for ( int v = 0; v < n; v++ ) {
+                    lo[ v ] = Math.max( lo[ v ], compiled.lo[ v ] );
+                    hi[ v ] = Math.min( hi[ v ], compiled.hi[ v ] );
+                }
+                rest.addAll( Arrays.asList( compiled.others ) );
+            } else {
+                rest.add( c );
+            }
+        }
+        others = rest.toArray( new Constraint[ rest.size() ] );
+    }
+    
+    /**
+     * Returns point arity.
+     * 
+     * @return arity
+     */
+    public int getArity() {
+        return arity;
+    }
+    
+    /**
+     * Returns lower bound of dimension.
+     * 
+     * @param aDim dimension
+     * @return lower bound, negative infinity if unbounded
+     */
+    public double lower( int aDim ) {
+        return lo[ aDim ];
+    }
+    
+    /**
+     * Returns upper bound of dimension.
+     * 
+     * @param aDim dimension
+     * @return upper bound, positive infinity if unbounded
+     */
+    public double upper( int aDim ) {
+        return hi[ aDim ];
+    }
+    
+    /**
+     * Are there constraints except ranges?
+     * 
+     * @return true if there are non-range constraints
+     */
+    public boolean hasOthers() {
+        return others.length != 0;
+    }
+    
+    @Override
+    public boolean check( Point aPoint ) {
+        final int n = Math.min( arity, aPoint.getArity() );
+        for ( int v = 0; v < n; v++ ) {
+            final double x = aPoint.get( v );
+            if ( x < lo[ v ] || x > hi[ v ] ) {
+                return false;
+            }
+        }
+        return checkOthers( aPoint );
+    }
+    
+    /**
+     * Checks point.
+     * 
+     * @param aX coordinates
+     * @return true if point satisfies constraints
+     */
+    public boolean check( double[] aX ) {
+        return check( new Point( aX ) );
+    }
+    
+    /**
+     * Checks non-range constraints only.
+     * 
+     * @param aPoint point
+     * @return true if point satisfies non-range constraints
+     */
+    public boolean checkOthers( Point aPoint ) {
+        for ( Constraint c : others ) {
+            if ( !c.check( aPoint ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Checks several points.
+     * Coordinates of i-th point are stored in [ i * arity, ( i + 1 ) * arity ).
+     * 
+     * @param aCoords flat points coordinates
+     * @param aN amount of points
+     * @param aOut check results
+     */
+    public void checkAll( double[] aCoords, int aN, boolean[] aOut ) {
+        // Box: no branches, so loop is cheap on large populations
+        for ( int i = 0, offset = 0; i < aN; i++, offset += arity ) {
+            boolean ok = true;
+            for ( int v = 0; v < arity; v++ ) {
+                final double x = aCoords[ offset + v ];
+                ok &= !( x < lo[ v ] ) & !( x > hi[ v ] );
+            }
+            aOut[ i ] = ok;
+        }
+        if ( others.length == 0 ) {
+            return;
+        }
+        
+        final double[] buffer = new double[ arity ];
+        final Point point = new Point( buffer );
+        for ( int i = 0; i < aN; i++ ) {
+            if ( aOut[ i ] ) {
+                System.arraycopy( aCoords, i * arity, buffer, 0, arity );
+                aOut[ i ] = checkOthers( point );
+            }
+        }
+    }
+    
+}
@@ -25,25 +25,95 @@ package edu.sibfu.isit.nemeton.models.functions;
 
 import edu.sibfu.isit.nemeton.controllers.providers.Functions;
 import edu.sibfu.isit.nemeton.lib.FunctionTextFormatter;
+import edu.sibfu.isit.nemeton.lib.JzyHelper;
 import edu.sibfu.isit.nemeton.models.CalculatedPoint;
 import edu.sibfu.isit.nemeton.models.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import org.jzy3d.plot3d.builder.Mapper;
 
 /**
  * Represents function.
+ * Batches are evaluated sequentially by default; parallel evaluation of 
+ * large batches is enabled with {@link #parallel()} or 
+ * {@link #batchThreshold(int)}, objective must be thread-safe then.
  * 
  * @author Max Balushkin
  */
 public class NFunction {
     
     /**
-     * Jzy mapper.
+     * Batch threshold which disables parallel evaluation, default one.
      */
-    protected final Mapper mapper;
+    public static final int SEQUENTIAL = Integer.MAX_VALUE;
+    /**
+     * Minimal amount of points which are evaluated in parallel 
+     * by {@link #parallel()}.
+     */
+    public static final int PARALLEL_BATCH_THRESHOLD = 256;
+    
+    /**
+     * Parallel batch evaluation.
+     * Splits range of points in halves until it is small enough.
+     */
+    private class BatchEvaluation extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final double[] coords;
+        private final int arity;
+        private final double[] out;
+        private final int from;
+        private final int to;
+        private final int grain;
+        
+        /**
+         * Creates new batch evaluation task.
+         * 
+         * @param aCoords flat points coordinates
+         * @param aArity point arity
+         * @param aOut function values
+         * @param aFrom first point index
+         * @param aTo last point index (exclusive)
+         * @param aGrain maximal amount of points evaluated sequentially
+         */
+        BatchEvaluation( 
+            double[] aCoords, int aArity, double[] aOut, 
+            int aFrom, int aTo, int aGrain 
+        ) {
+            coords = aCoords;
+            arity = aArity;
+            out = aOut;
+            from = aFrom;
+            to = aTo;
+            grain = aGrain;
+        }
+
+        @Override
+        protected void compute() {
+            if ( to - from <= grain ) {
+                evalRange( coords, arity, out, from, to );
+                return;
+            }
+            final int mid = ( from + to ) >>> 1;
+            invokeAll(
+                new BatchEvaluation( coords, arity, out, from, mid, grain ),
+                new BatchEvaluation( coords, arity, out, mid, to, grain )
+            );
+        }
+        
+    }
+    
+    /**
+     * Jzy mapper, created on demand.
+     */
+    protected Mapper mapper;
     /**
      * True if has jzy mapper, else false.
      */
@@ -51,7 +121,7 @@ public class NFunction {
     /**
      * Function.
      */
-    protected final Function<Point, Double> f;
+    protected final ObjectiveFunction f;
     
     /**
      * Function minima.
@@ -73,44 +143,100 @@ public class NFunction {
     
     private boolean unsafe;
     
+    private int batchThreshold;
+    private ForkJoinPool pool;
+    
     /**
      * Creates new function with specified arity.
      * 
      * @param aFunction function of n variables
      * @param aArity function arity
-     * Can't be mapped with Jzy3D
      */
-    public NFunction( Function<Point, Double> aFunction, int aArity ) {
+    private NFunction( ObjectiveFunction aFunction, int aArity ) {
         this.f = aFunction;
         arity = aArity;
 
-        if ( aArity == 2 ) {
-            mapper = new Mapper() {
-                @Override
-                public double f( double x, double y ) {
-                    return aFunction.apply( new Point( x, y ) );
-                }
-            };
-            isMapped = true;
-        } else {
-            mapper = null;
-            isMapped = false;
-        }
+        isMapped = aArity == 2;
         
         minima = new ArrayList<>();
         maxima = new ArrayList<>();
         constraints = new ArrayList<>();
         
         unsafe = false;
+        
+        batchThreshold = SEQUENTIAL;
+        pool = ForkJoinPool.commonPool();
+    }
+    
+    /**
+     * Copying constructor.
+     * Copies objective, description, extrema and constraints.
+     * 
+     * @param aSrc copied function
+     */
+    protected NFunction( NFunction aSrc ) {
+        this( aSrc.f, aSrc.arity );
+        title = aSrc.title;
+        text = aSrc.text;
+        minima.addAll( aSrc.minima );
+        maxima.addAll( aSrc.maxima );
+        constraints.addAll( aSrc.constraints );
+        unsafe = aSrc.unsafe;
+        batchThreshold = aSrc.batchThreshold;
+        pool = aSrc.pool;
+    }
+    
+    /**
+     * Creates new function with specified arity.
+     * Every evaluation creates point, prefer {@link #of(ObjectiveFunction, int)}.
+     * 
+     * @param aFunction function of n variables
+     * @param aArity function arity
+     */
+    public NFunction( Function<Point, Double> aFunction, int aArity ) {
+        this( ( double[] x ) -> aFunction.apply( new Point( x ) ), aArity );
     }
    
     /**
      * Creates new function of 2 variables.
+     * Every evaluation boxes arguments, prefer {@link #of(ObjectiveFunction.Bivariate)}.
      * 
      * @param function function of 2 variables
      */
     public NFunction( BiFunction<Double, Double, Double> function ) {
-        this( ( Point t ) ->  function.apply( t.get( 0 ), t.get( 1 ) ), 2 );
+        this( (ObjectiveFunction.Bivariate) ( x, y ) -> function.apply( x, y ), 2 );
+    }
+    
+    /**
+     * Creates new function with specified arity.
+     * 
+     * @param aFunction function of n variables
+     * @param aArity function arity
+     * @return function
+     */
+    public static NFunction of( ObjectiveFunction aFunction, int aArity ) {
+        return new NFunction( aFunction, aArity );
+    }
+    
+    /**
+     * Creates new function of 2 variables.
+     * 
+     * @param aFunction function of 2 variables
+     * @return function
+     */
+    public static NFunction of( ObjectiveFunction.Bivariate aFunction ) {
+        return new NFunction( aFunction, 2 );
+    }
+    
+    /**
+     * Creates memoizing copy of function.
+     * @see CachedFunction
+     * 
+     * @param aCapacity maximal amount of cached values
+     * @return cached function
+     */
+    public CachedFunction cached( int aCapacity ) {
+        return new CachedFunction( this, aCapacity );
     }
     
     /**
@@ -243,6 +369,49 @@ public class NFunction {
         return unsafe;
     }
     
+    /**
+     * Sets minimal amount of points which are evaluated in parallel.
+     * Smaller batches are evaluated in calling thread.
+     * 
+     * @param aThreshold parallelism threshold, {@link #SEQUENTIAL} disables 
+     * parallel evaluation
+     * @return self
+     */
+    public NFunction batchThreshold( int aThreshold ) {
+        batchThreshold = aThreshold;
+        return this;
+    }
+    /**
+     * Enables parallel evaluation of batches of at least 
+     * {@link #PARALLEL_BATCH_THRESHOLD} points; function must be thread-safe.
+     * 
+     * @return self
+     */
+    public NFunction parallel() {
+        return batchThreshold( PARALLEL_BATCH_THRESHOLD );
+    }
+    
+    /**
+     * Returns minimal amount of points which are evaluated in parallel.
+     * 
+     * @return parallelism threshold
+     */
+    public int batchThreshold() {
+        return batchThreshold;
+    }
+    
+    /**
+     * Sets pool used for parallel batch evaluation.
+     * Common pool is used by default.
+     * 
+     * @param aPool fork-join pool
+     * @return self
+     */
+    public NFunction pool( ForkJoinPool aPool ) {
+        pool = aPool;
+        return this;
+    }
+    
     /**
      * Returns function arity.
      * 
@@ -267,6 +436,9 @@ public class NFunction {
      * @return Jzy mapper
      */
     public Mapper getMapper() {
+        if ( mapper == null && isMapped ) {
+            mapper = JzyHelper.mapper( this );
+        }
         return mapper;
     }
     
@@ -277,7 +449,88 @@ public class NFunction {
      * @return value of function
      */
     public double eval( Point x ) {
-        return f.apply( x );
+        return eval( x.get() );
+    }
+    
+    /**
+     * Returns value of function in point.
+     * Missing coordinates are treated as zeros.
+     * 
+     * @param aX coordinates
+     * @return value of function
+     */
+    public double eval( double[] aX ) {
+        if ( aX.length < arity ) {
+            return f.applyAsDouble( Arrays.copyOf( aX, arity ) );
+        }
+        return f.applyAsDouble( aX );
+    }
+    
+    /**
+     * Returns value of function of 2 variables in point.
+     * 
+     * @param aX first coordinate
+     * @param aY second coordinate
+     * @return value of function
+     */
+    public double eval( double aX, double aY ) {
+        if ( f instanceof ObjectiveFunction.Bivariate ) {
+            return ( (ObjectiveFunction.Bivariate) f ).applyAsDouble( aX, aY );
+        }
+        return eval( new double[] { aX, aY } );
+    }
+
+    /**
+     * Evaluates function in several points.
+     * Coordinates of i-th point are stored in [ i * arity, ( i + 1 ) * arity ).
+     * If there are at least {@link #batchThreshold()} points, they are 
+     * evaluated in parallel; function must be thread-safe in this case.
+     * 
+     * @param aCoords flat points coordinates
+     * @param aArity point arity
+     * @param aOut function values, at least aCoords.length / aArity
+     */
+    public void evalBatch( double[] aCoords, int aArity, double[] aOut ) {
+        final int n = aCoords.length / aArity;
+        if ( n < batchThreshold || n < 2 ) {
+            evalRange( aCoords, aArity, aOut, 0, n );
+            return;
+        }
+        
+        final ForkJoinPool executor = ForkJoinTask.inForkJoinPool() 
+            ? ForkJoinTask.getPool() : pool;
+        final int grain = Math.max( 1, n / ( executor.getParallelism() * 4 ) );
+        final BatchEvaluation task = new BatchEvaluation( aCoords, aArity, aOut, 0, n, grain );
+        if ( ForkJoinTask.inForkJoinPool() ) {
+            task.invoke();
+        } else {
+            executor.invoke( task );
+        }
+    }
+    
+    /**
+     * Evaluates function in range of points sequentially.
+     * 
+     * @param aCoords flat points coordinates
+     * @param aArity point arity
+     * @param aOut function values
+     * @param aFrom first point index
+     * @param aTo last point index (exclusive)
+     */
+    protected void evalRange( double[] aCoords, int aArity, double[] aOut, int aFrom, int aTo ) {
+        if ( aArity == 2 && f instanceof ObjectiveFunction.Bivariate ) {
+            final ObjectiveFunction.Bivariate f2 = (ObjectiveFunction.Bivariate) f;
+            for ( int i = aFrom; i < aTo; i++ ) {
+                aOut[ i ] = f2.applyAsDouble( aCoords[ 2 * i ], aCoords[ 2 * i + 1 ] );
+            }
+            return;
+        }
+        
+        final double[] x = new double[ Math.max( aArity, arity ) ];
+        for ( int i = aFrom; i < aTo; i++ ) {
+            System.arraycopy( aCoords, i * aArity, x, 0, aArity );
+            aOut[ i ] = f.applyAsDouble( x );
+        }
     }
 
     @Override
@@ -25,6 +25,7 @@ package edu.sibfu.isit.nemeton.models.functions;
 
 import edu.sibfu.isit.nemeton.framework.Pair;
 import edu.sibfu.isit.nemeton.models.Point;
+import java.util.Arrays;
 
 /**
  * Range constraint.
@@ -33,7 +34,8 @@ import edu.sibfu.isit.nemeton.models.Point;
  */
 public class RangeConstraint implements Constraint {
 
-    private final Pair<Double, Double>[] range;
+    private final double[] lo;
+    private final double[] hi;
 
     /**
      * Creates new range constraint.
@@ -55,7 +57,12 @@ public class RangeConstraint implements Constraint {
      * @param aRange ranges
      */
     public RangeConstraint( Pair<Double, Double> ... aRange ) {
-        range = aRange;
+        lo = new double[ aRange.length ];
+        hi = new double[ aRange.length ];
+        for ( int i = 0; i < aRange.length; i++ ) {
+            lo[ i ] = aRange[ i ].left();
+            hi[ i ] = aRange[ i ].right();
+        }
     }
     
     /**
@@ -66,31 +73,63 @@ public class RangeConstraint implements Constraint {
      * @param aArity arity
      */
     public RangeConstraint( final Pair<Double, Double> aRange, final int aArity ) {
-        range = new Pair[ aArity ];
-        for ( int i = 0; i < aArity; i++ ) {
-            range[ i ] = aRange;
-        }
+        lo = new double[ aArity ];
+        hi = new double[ aArity ];
+        Arrays.fill( lo, aRange.left() );
+        Arrays.fill( hi, aRange.right() );
     }
     
     @Override
     public boolean check( final Point aPoint ) {
-        int n = Math.min( aPoint.getArity(), range.length );
+        int n = Math.min( aPoint.getArity(), lo.length );
         for ( int i = 0; i < n; i++ ) {
             final double dim = aPoint.get(i);
-            final Pair<Double, Double> r = range[ i ];
-            if ( dim < r.left() ||  dim > r.right() ) {
+            if ( dim < lo[ i ] ||  dim > hi[ i ] ) {
                 return false;
             }
         }
         return true;
     }
     
+    /**
+     * Returns range arity.
+     * 
+     * @return amount of constrained dimensions
+     */
+    public int getArity() {
+        return lo.length;
+    }
+    
+    /**
+     * Returns lower bound of dimension.
+     * 
+     * @param aDim dimension
+     * @return lower bound
+     */
+    public double lower( int aDim ) {
+        return lo[ aDim ];
+    }
+    
+    /**
+     * Returns upper bound of dimension.
+     * 
+     * @param aDim dimension
+     * @return upper bound
+     */
+    public double upper( int aDim ) {
+        return hi[ aDim ];
+    }
+    
     /**
      * Returns ranges.
      * 
      * @return ranges
      */
     public Pair<Double, Double>[] getRange() {
+        Pair<Double, Double>[] range = new Pair[ lo.length ];
+        for ( int i = 0; i < lo.length; i++ ) {
+            range[ i ] = new Pair<>( lo[ i ], hi[ i ] );
+        }
         return range;
     }
     
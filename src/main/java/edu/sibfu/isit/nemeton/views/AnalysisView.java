@@ -59,8 +59,15 @@ public class AnalysisView extends javax.swing.JFrame {
     }
     
     private void fill( AnalysisResult aResult ) {
-        success.setText( Utils.str( aResult.success * 100 ) );
-        evals.setText( Utils.str( aResult.meanIterations ) );
+        success.setText( String.format( "%s [%s; %s], n = %d",
+            Utils.str( aResult.success * 100 ), 
+            Utils.str( aResult.successLower * 100 ), Utils.str( aResult.successUpper * 100 ),
+            aResult.runs
+        ) );
+        evals.setText( Double.isNaN( aResult.evaluationsDeviation ) 
+            ? Utils.str( aResult.meanIterations )
+            : Utils.str( aResult.meanIterations ) + " ± " + Utils.str( aResult.evaluationsDeviation ) 
+        );
     }
     
     private void addResult( AnalysisResult aResult ) {
@@ -174,7 +181,7 @@ public class AnalysisView extends javax.swing.JFrame {
 
         lblSuccess.setText("Вероятность успеха: ");
 
-        lblEvals.setText("Среднее количество вычислений ЦФ: ");
+        lblEvals.setText("Среднее количество вычислений ЦФ (успешные запуски): ");
 
         success.setText("N/A");
 
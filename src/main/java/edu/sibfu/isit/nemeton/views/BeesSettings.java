@@ -48,6 +48,17 @@ public class BeesSettings extends javax.swing.JFrame {
         loadData(bldr);
     }
     
+    /**
+     * Creates new settings window.
+     * Keeps builder free of Swing types, so it can be used headless.
+     * 
+     * @param aBuilder bees algorithm builder
+     * @return settings window
+     */
+    public static javax.swing.JFrame create( final BeesAlgorithmBuilder aBuilder ) {
+        return new BeesSettings( aBuilder );
+    }
+    
     private void loadData( final BeesAlgorithmBuilder aBldr ) {
         hivePosition.setText(PointUtil.str( aBldr.hivePosition() ) );
         scouts.setText( str( aBldr.scouts() ) );
@@ -28,6 +28,7 @@ import de.erichseifert.gral.ui.InteractivePanel;
 import edu.sibfu.isit.nemeton.controllers.HistoryController;
 import edu.sibfu.isit.nemeton.framework.Pair;
 import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.RunLog;
 import java.awt.BorderLayout;
 import java.util.List;
 import javax.swing.BorderFactory;
@@ -52,7 +53,29 @@ public class HistoryView extends javax.swing.JFrame {
         setDefaultCloseOperation( JFrame.DISPOSE_ON_CLOSE );
         
         ctrl = new HistoryController( this, aResults, showParams );
+        showPlots();
+    }
+    
+    /**
+     * Creates new history view form of run log.
+     * 
+     * @param aTitle Run title
+     * @param aLog Run log
+     * @param showParams Show parameter plots?
+     */
+    public HistoryView( String aTitle, RunLog aLog, boolean showParams ) {
+        initComponents();
+        setDefaultCloseOperation( JFrame.DISPOSE_ON_CLOSE );
+        setTitle( aTitle );
         
+        ctrl = new HistoryController( this, aTitle, aLog, showParams );
+        showPlots();
+    }
+    
+    /**
+     * Adds controller plots to panels.
+     */
+    private void showPlots() {
         InteractivePanel values = new InteractivePanel( ctrl.getPlot() );
         valuesPanel.add( values, BorderLayout.CENTER );
         
@@ -101,6 +101,10 @@ public class MainView extends javax.swing.JFrame {
         runsAmount = new javax.swing.JTextField();
         jLabel5 = new javax.swing.JLabel();
         analysisAccuracy = new javax.swing.JTextField();
+        jLabel6 = new javax.swing.JLabel();
+        analysisHalfWidth = new javax.swing.JTextField();
+        jLabel7 = new javax.swing.JLabel();
+        analysisConfidence = new javax.swing.JTextField();
         analyse = new javax.swing.JButton();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
@@ -276,6 +280,14 @@ public class MainView extends javax.swing.JFrame {
 
         analysisAccuracy.setText("0.0001");
 
+        jLabel6.setText("Полуширина интервала (0 - нет): ");
+
+        analysisHalfWidth.setText("0");
+
+        jLabel7.setText("Квантиль доверия: ");
+
+        analysisConfidence.setText("1.96");
+
         javax.swing.GroupLayout jPanel3Layout = new javax.swing.GroupLayout(jPanel3);
         jPanel3.setLayout(jPanel3Layout);
         jPanel3Layout.setHorizontalGroup(
@@ -290,7 +302,15 @@ public class MainView extends javax.swing.JFrame {
                     .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, jPanel3Layout.createSequentialGroup()
                         .addComponent(jLabel5)
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
-                        .addComponent(analysisAccuracy, javax.swing.GroupLayout.PREFERRED_SIZE, 100, javax.swing.GroupLayout.PREFERRED_SIZE)))
+                        .addComponent(analysisAccuracy, javax.swing.GroupLayout.PREFERRED_SIZE, 100, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, jPanel3Layout.createSequentialGroup()
+                        .addComponent(jLabel6)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                        .addComponent(analysisHalfWidth, javax.swing.GroupLayout.PREFERRED_SIZE, 100, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, jPanel3Layout.createSequentialGroup()
+                        .addComponent(jLabel7)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                        .addComponent(analysisConfidence, javax.swing.GroupLayout.PREFERRED_SIZE, 100, javax.swing.GroupLayout.PREFERRED_SIZE)))
                 .addContainerGap())
         );
         jPanel3Layout.setVerticalGroup(
@@ -304,6 +324,14 @@ public class MainView extends javax.swing.JFrame {
                 .addGroup(jPanel3Layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                     .addComponent(jLabel5)
                     .addComponent(analysisAccuracy, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(jPanel3Layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jLabel6)
+                    .addComponent(analysisHalfWidth, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(jPanel3Layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jLabel7)
+                    .addComponent(analysisConfidence, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
 
@@ -421,8 +449,10 @@ public class MainView extends javax.swing.JFrame {
         NFunction function = getFunction();
         int n = Utils.intg( runsAmount.getText() );
         double accuracy = Utils.real( analysisAccuracy.getText() );
+        double halfWidth = Utils.real( analysisHalfWidth.getText() );
+        double z = Utils.real( analysisConfidence.getText() );
         
-        ctrl.analyse( goal, function, n, accuracy );
+        ctrl.analyse( goal, function, n, accuracy, halfWidth, z );
     }//GEN-LAST:event_analyseActionPerformed
 
     private void goalMinActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_goalMinActionPerformed
@@ -442,6 +472,8 @@ public class MainView extends javax.swing.JFrame {
     private javax.swing.JTable algorithmsTable;
     private javax.swing.JButton analyse;
     private javax.swing.JTextField analysisAccuracy;
+    private javax.swing.JTextField analysisConfidence;
+    private javax.swing.JTextField analysisHalfWidth;
     private javax.swing.JComboBox<String> functionCombo;
     private javax.swing.ButtonGroup functionGoalGroup;
     private javax.swing.JLabel functionLabel;
@@ -451,6 +483,8 @@ public class MainView extends javax.swing.JFrame {
     private javax.swing.JButton jButton1;
     private javax.swing.JLabel jLabel4;
     private javax.swing.JLabel jLabel5;
+    private javax.swing.JLabel jLabel6;
+    private javax.swing.JLabel jLabel7;
     private javax.swing.JPanel jPanel2;
     private javax.swing.JPanel jPanel3;
     private javax.swing.JScrollPane jScrollPane1;
@@ -52,6 +52,17 @@ public class SACSettings extends JFrame {
         loadData( bldr );
     }
     
+    /**
+     * Creates new settings window.
+     * Keeps builder free of Swing types, so it can be used headless.
+     * 
+     * @param aBuilder SAC algorithm builder
+     * @return settings window
+     */
+    public static JFrame create( final SACBuilder aBuilder ) {
+        return new SACSettings( aBuilder );
+    }
+    
     private void loadData( final SACBuilder aBldr ) {
         centre.setText(PointUtil.str( aBldr.centre() ) );
         searchRange.setText( str( aBldr.searchRange() ) );
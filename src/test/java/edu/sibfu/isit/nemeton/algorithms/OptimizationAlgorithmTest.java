@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class OptimizationAlgorithmTest {
+    
+    /**
+     * Evaluates the same points three times.
+     */
+    private static class Repeating extends OptimizationAlgorithm {
+        
+        Repeating( NFunction aFunction ) {
+            super( aFunction );
+        }
+
+        @Override
+        public Result run( Comparator<CalculatedPoint> comparator ) {
+            evaluations = 0;
+            final Point a = new Point( 1.0, 2.0 );
+            final Point b = new Point( 3.0, 4.0 );
+            evaluate( a );
+            evaluate( a );
+            final List<CalculatedPoint> points = evaluate( Arrays.asList( a, b, b ) );
+            return new Result( 
+                this, f, points.toArray( new CalculatedPoint[ points.size() ] ), 1, evaluations, 0 
+            );
+        }
+        
+    }
+    
+    @Test
+    public void testCache() {
+        AtomicInteger calls = new AtomicInteger();
+        NFunction f = NFunction.of( ( x, y ) -> {
+            calls.incrementAndGet();
+            return x + y;
+        } );
+        
+        OptimizationAlgorithm alg = new Repeating( f );
+        assertEquals( 5, alg.minimize().getEvaluations() );
+        assertEquals( 5, calls.get() );
+        
+        calls.set( 0 );
+        alg.cache( 16 );
+        assertEquals( 2, alg.minimize().getEvaluations() );
+        assertEquals( 2, calls.get() );
+        assertEquals( 0, alg.minimize().getEvaluations() );
+        assertEquals( 2, calls.get() );
+    }
+    
+    @Test( expected = IllegalArgumentException.class )
+    public void testArity() {
+        new OptimizationAlgorithm( NFunction.of( ( x, y ) -> x + y ) ) {
+            @Override
+            public Result run( Comparator<CalculatedPoint> comparator ) {
+                evaluate( Arrays.asList( new Point( 1.0, 2.0 ), new Point( 1.0, 2.0, 3.0 ) ) );
+                return null;
+            }
+        }.minimize();
+    }
+    
+}
@@ -0,0 +1,204 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms;
+
+import edu.sibfu.isit.nemeton.algorithms.bees.BeesAlgorithmBuilder;
+import edu.sibfu.isit.nemeton.algorithms.sac.SACBuilder;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.Comparator;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class StopCriterionTest {
+    
+    private static final Comparator<CalculatedPoint> MIN = 
+        Comparator.comparingDouble( CalculatedPoint::getValue );
+    
+    private static CalculatedPoint point( double aValue ) {
+        return new CalculatedPoint( aValue, 0.0, 0.0 );
+    }
+    
+    @Test
+    public void testMaxEvaluations() {
+        StopCriterion c = StopCriterion.maxEvaluations( 100 );
+        RunState state = new RunState( MIN, c.lookback() );
+        
+        state.update( 1, 99, point( 1 ) );
+        assertNull( c.check( state ) );
+        state.update( 2, 100, point( 1 ) );
+        assertEquals( "по числу вычислений", c.check( state ) );
+    }
+    
+    @Test
+    public void testWallClock() {
+        RunState state = new RunState( MIN, 0 );
+        state.update( 1, 1, point( 1 ) );
+        
+        assertEquals( "по времени", StopCriterion.wallClock( 0 ).check( state ) );
+        assertNull( StopCriterion.wallClock( Long.MAX_VALUE ).check( state ) );
+    }
+    
+    @Test
+    public void testNoImprovement() {
+        StopCriterion c = StopCriterion.noImprovement( 3 );
+        RunState state = new RunState( MIN, c.lookback() );
+        
+        state.update( 0, 1, point( 5 ) );
+        state.update( 1, 2, point( 4 ) );
+        state.update( 2, 3, point( 4 ) );
+        state.update( 3, 4, point( 6 ) );
+        assertEquals( 2, state.sinceImprovement() );
+        assertNull( c.check( state ) );
+        
+        state.update( 4, 5, point( 4 ) );
+        assertEquals( "нет улучшений", c.check( state ) );
+        assertEquals( 4, state.best().getValue(), 0 );
+        
+        state.update( 5, 6, point( 3 ) );
+        assertEquals( 0, state.sinceImprovement() );
+        assertNull( c.check( state ) );
+    }
+    
+    @Test
+    public void testTarget() {
+        StopCriterion c = StopCriterion.target( 1 );
+        RunState min = new RunState( MIN, 0 );
+        RunState max = new RunState( MIN.reversed(), 0 );
+        
+        assertNull( c.check( min ) );
+        min.update( 1, 1, point( 2 ) );
+        max.update( 1, 1, point( 0.5 ) );
+        assertNull( c.check( min ) );
+        assertNull( c.check( max ) );
+        
+        min.update( 2, 2, point( 1 ) );
+        max.update( 2, 2, point( 2 ) );
+        assertEquals( "по целевому значению", c.check( min ) );
+        assertEquals( "по целевому значению", c.check( max ) );
+    }
+    
+    @Test
+    public void testStagnation() {
+        StopCriterion c = StopCriterion.stagnation( 2, 0.1 );
+        RunState state = new RunState( MIN, c.lookback() );
+        
+        state.update( 1, 1, point( 10 ) );
+        state.update( 2, 2, point( 5 ) );
+        assertNull( c.check( state ) );
+        state.update( 3, 3, point( 4.95 ) );
+        assertNull( c.check( state ) );
+        state.update( 4, 4, point( 4.9 ) );
+        assertEquals( "по стагнации", c.check( state ) );
+    }
+    
+    @Test
+    public void testBestAgo() {
+        RunState state = new RunState( MIN, 3 );
+        
+        state.update( 0, 0, point( 10 ) );
+        state.update( 1, 1, point( 9 ) );
+        state.update( 2, 2, point( 8 ) );
+        assertTrue( Double.isNaN( state.bestAgo( 3 ) ) );
+        
+        // Exactly lookback iterations: ring buffer is full
+        state.update( 3, 3, point( 7 ) );
+        assertEquals( 10, state.bestAgo( 3 ), 0 );
+        assertEquals( 7, state.bestAgo( 0 ), 0 );
+        
+        // Oldest value is overwritten
+        state.update( 4, 4, point( 6 ) );
+        assertEquals( 9, state.bestAgo( 3 ), 0 );
+        assertEquals( 6, state.bestAgo( 0 ), 0 );
+    }
+    
+    @Test
+    public void testBestAgoFromFirstUpdate() {
+        RunState state = new RunState( MIN, 2 );
+        
+        state.update( 1, 0, null );
+        state.update( 2, 1, point( 3 ) );
+        state.update( 3, 2, point( 2 ) );
+        assertTrue( Double.isNaN( state.bestAgo( 2 ) ) );
+        state.update( 4, 3, point( 1 ) );
+        assertEquals( 3, state.bestAgo( 2 ), 0 );
+    }
+    
+    @Test( expected = IllegalArgumentException.class )
+    public void testBestAgoBeyondLookback() {
+        RunState state = new RunState( MIN, 3 );
+        state.update( 0, 0, point( 1 ) );
+        state.bestAgo( 4 );
+    }
+    
+    @Test
+    public void testPrecedence() {
+        NFunction func = new NFunction((x, y) -> x*x + y*y);
+        
+        // Both criteria are met on the first check, the first added wins
+        SACBuilder sac = new SACBuilder();
+        sac.seed( 42L );
+        sac.stop( StopCriterion.maxEvaluations( 1 ) );
+        sac.stop( StopCriterion.target( 1E9 ) );
+        assertEquals( "по числу вычислений", sac.build( func ).minimize().getEndClause() );
+        
+        sac = new SACBuilder();
+        sac.seed( 42L );
+        sac.stop( StopCriterion.target( 1E9 ) );
+        sac.stop( StopCriterion.maxEvaluations( 1 ) );
+        assertEquals( "по целевому значению", sac.build( func ).minimize().getEndClause() );
+        
+        BeesAlgorithmBuilder bees = new BeesAlgorithmBuilder();
+        bees.seed( 42L );
+        bees.stop( StopCriterion.maxEvaluations( 1 ) );
+        bees.stop( StopCriterion.target( 1E9 ) );
+        assertEquals( "по числу вычислений", bees.build( func ).minimize().getEndClause() );
+        
+        bees = new BeesAlgorithmBuilder();
+        bees.seed( 42L );
+        bees.stop( StopCriterion.target( 1E9 ) );
+        bees.stop( StopCriterion.maxEvaluations( 1 ) );
+        assertEquals( "по целевому значению", bees.build( func ).minimize().getEndClause() );
+    }
+    
+    @Test
+    public void testEndClause() {
+        NFunction func = new NFunction((x, y) -> x*x + y*y);
+        
+        SACBuilder sac = new SACBuilder().accuracy( 0 );
+        sac.seed( 42L );
+        sac.stop( StopCriterion.noImprovement( 1 ) );
+        assertEquals( "нет улучшений", sac.build( func ).minimize().getEndClause() );
+        
+        BeesAlgorithmBuilder bees = new BeesAlgorithmBuilder().accuracy( 0 );
+        bees.seed( 42L );
+        bees.stop( StopCriterion.stagnation( 5, 1E-3 ) );
+        assertEquals( "по стагнации", bees.build( func ).minimize().getEndClause() );
+    }
+    
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.bees;
+
+import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.HistorySink;
+import edu.sibfu.isit.nemeton.models.HistoryWindow;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.PointHistory;
+import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class BeesAlgorithmTest {
+    
+    @Test
+    public void testEvaluations() {
+        AtomicInteger calls = new AtomicInteger();
+        NFunction func = new NFunction((x, y) -> { 
+            calls.incrementAndGet(); 
+            return x*x + y*y; 
+        });
+        
+        BeesAlgorithmBuilder bldr = new BeesAlgorithmBuilder().maxIteration( 50 );
+        bldr.seed( 42L );
+        Result res = bldr.build( func ).minimize();
+        assertEquals( calls.get(), res.getEvaluations() );
+        
+        calls.set( 0 );
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        bldr.async( executor, 4 );
+        res = bldr.build( func ).minimize();
+        executor.shutdownNow();
+        assertTrue( calls.get() >= res.getEvaluations() );
+    }
+    
+    @Test
+    public void testHistoryClosedOnFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        NFunction func = new NFunction((x, y) -> {
+            if ( calls.incrementAndGet() > 1000 ) {
+                throw new IllegalStateException();
+            }
+            return x*x + y*y;
+        });
+        AtomicBoolean closed = new AtomicBoolean();
+        HistorySink sink = new HistorySink() {
+            @Override
+            public void point( int aRow, CalculatedPoint aPoint ) { }
+            @Override
+            public void parameter( String aId, double aValue ) { }
+            @Override
+            public void pointParameter( String aId, Point aValue ) { }
+            @Override
+            public void close() {
+                closed.set( true );
+            }
+        };
+        
+        OptimizationAlgorithm bees = new BeesAlgorithmBuilder().build( func );
+        bees.history( () -> new PointHistory( HistoryWindow.NONE, sink ) );
+        try {
+            bees.minimize();
+            fail();
+        } catch ( IllegalStateException ex ) {
+            assertTrue( closed.get() );
+        }
+    }
+    
+    @Test( timeout = 10000 )
+    public void testAsyncIterations() {
+        NFunction func = new NFunction((x, y) -> x*x + y*y);
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        
+        for ( int iterations = 0; iterations <= 1; iterations++ ) {
+            BeesAlgorithmBuilder bldr = new BeesAlgorithmBuilder().maxIteration( iterations );
+            bldr.seed( 42L );
+            bldr.async( executor, 4 );
+            Result res = bldr.build( func ).minimize();
+            assertEquals( iterations, res.getIterations() );
+            assertEquals( "по итерациям", res.getEndClause() );
+        }
+        executor.shutdown();
+    }
+    
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.bees;
+
+import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.algorithms.StopCriterion;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.PointHistory;
+import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class BeesIslandsTest {
+    
+    @Test
+    public void testSingleIsland() {
+        NFunction func = new NFunction((x, y) -> x*x + y*y);
+        
+        OptimizationAlgorithm alg = new BeesAlgorithmBuilder().islands( 1 ).build( func );
+        assertEquals( BeesAlgorithm.class, alg.getClass() );
+        alg = new BeesAlgorithmBuilder().islands( 2 ).build( func );
+        assertEquals( BeesIslands.class, alg.getClass() );
+    }
+    
+    @Test
+    public void testIslands() {
+        NFunction func = new NFunction((x, y) -> x*x + y*y);
+        
+        BeesAlgorithmBuilder bldr = new BeesAlgorithmBuilder()
+            .sources( 10 ).scouts( 10 ).eliteSources( 3 ).maxIteration( 50 )
+            .islands( 3 ).migrationInterval( 5 ).migrants( 2 );
+        bldr.seed( 42L );
+        Result res = bldr.build( func ).minimize();
+        
+        CalculatedPoint[] values = res.getValues();
+        assertTrue( values.length > 0 && values.length <= 10 );
+        for ( int i = 1; i < values.length; i++ ) {
+            assertTrue( values[ i - 1 ].getValue() <= values[ i ].getValue() );
+        }
+        assertEquals( 0, values[ 0 ].getValue(), 1E-1 );
+        assertTrue( res.getIterations() > 0 && res.getIterations() <= 50 );
+        
+        // Elite rows of every island one after another
+        PointHistory history = res.getHistory();
+        assertEquals( 9, history.size() );
+        for ( int row = 0; row < history.size(); row++ ) {
+            assertFalse( history.get( row ).isEmpty() );
+        }
+    }
+    
+    @Test
+    public void testBudget() {
+        NFunction func = new NFunction((x, y) -> 
+            x*x + y*y - Math.cos(18*x) - Math.cos(18*y)
+        );
+        
+        BeesAlgorithmBuilder bldr = new BeesAlgorithmBuilder()
+            .sources( 10 ).scouts( 10 ).eliteSources( 3 ).onElite( 6 ).onOther( 4 )
+            .accuracy( 0 ).islands( 4 );
+        bldr.seed( 42L );
+        bldr.stop( StopCriterion.maxEvaluations( 2000 ) );
+        Result res = bldr.build( func ).minimize();
+        
+        // Every island may overshoot by one generation
+        assertTrue( res.getEvaluations() >= 2000 );
+        assertTrue( res.getEvaluations() <= 2000 + 4 * ( 3 * 6 + 7 * 4 + 10 ) );
+        assertEquals( "по числу вычислений", res.getEndClause() );
+    }
+    
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.bees;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class MigrationTest {
+    
+    private static List<CalculatedPoint> sites( double... aValues ) {
+        CalculatedPoint[] sites = new CalculatedPoint[ aValues.length ];
+        for ( int i = 0; i < sites.length; i++ ) {
+            sites[ i ] = new CalculatedPoint( aValues[ i ], aValues[ i ], 0.0 );
+        }
+        return Arrays.asList( sites );
+    }
+    
+    @Test
+    public void testRing() {
+        Migration migration = new Migration( 3, 10, 2 );
+        
+        migration.emigrate( 0, sites( 1, 2, 3 ) );
+        migration.emigrate( 2, sites( 7 ) );
+        assertEquals( sites( 7 ), migration.immigrate( 0 ) );
+        assertEquals( sites( 1, 2 ), migration.immigrate( 1 ) );
+        assertNull( migration.immigrate( 2 ) );
+    }
+    
+    @Test
+    public void testLatestBatch() {
+        Migration migration = new Migration( 2, 10, 2 );
+        
+        migration.emigrate( 0, sites( 1, 2 ) );
+        migration.emigrate( 0, sites( 3, 4, 5 ) );
+        assertEquals( sites( 3, 4 ), migration.immigrate( 1 ) );
+        // Mailbox is emptied on read
+        assertNull( migration.immigrate( 1 ) );
+    }
+    
+}
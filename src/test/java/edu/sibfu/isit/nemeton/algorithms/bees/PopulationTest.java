@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.bees;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class PopulationTest {
+    
+    private static List<CalculatedPoint> points( double ... aValues ) {
+        List<CalculatedPoint> points = new ArrayList<>();
+        for ( int i = 0; i < aValues.length; i++ ) {
+            points.add( new CalculatedPoint( aValues[ i ], new Point( (double) i ) ) );
+        }
+        return points;
+    }
+    
+    @Test
+    public void testSelect() {
+        Comparator<CalculatedPoint> cmp = Comparator.comparingDouble( CalculatedPoint::getValue );
+        List<CalculatedPoint> candidates = points( 5, 1, 3, 1, Double.NaN, 0, 3, 7 );
+        
+        Population min = new Population( 4, 2, cmp );
+        min.offer( candidates );
+        min.select();
+        assertEquals( 
+            Arrays.asList( candidates.get( 5 ), candidates.get( 1 ), candidates.get( 3 ), candidates.get( 2 ) ),
+            min.sites() 
+        );
+        
+        Population max = new Population( 3, 2, cmp.reversed() );
+        max.offer( candidates );
+        max.select();
+        assertEquals( 
+            Arrays.asList( candidates.get( 7 ), candidates.get( 0 ), candidates.get( 2 ) ),
+            max.sites() 
+        );
+    }
+    
+    @Test
+    public void testComparator() {
+        // Ranks by coordinate, not by value
+        Comparator<CalculatedPoint> cmp = ( a, b ) -> Double.compare( b.get( 0 ), a.get( 0 ) );
+        List<CalculatedPoint> candidates = points( 5, 1, 3, Double.NaN, 0 );
+        
+        Population pop = new Population( 3, 1, cmp );
+        pop.offer( candidates );
+        pop.select();
+        assertEquals( 
+            Arrays.asList( candidates.get( 4 ), candidates.get( 2 ), candidates.get( 1 ) ),
+            pop.sites() 
+        );
+        
+        CalculatedPoint inserted = new CalculatedPoint( 9, new Point( 3.0 ) );
+        pop.insert( inserted );
+        assertEquals( 
+            Arrays.asList( candidates.get( 4 ), inserted, candidates.get( 2 ) ),
+            pop.sites() 
+        );
+    }
+    
+}
@@ -24,8 +24,22 @@
 package edu.sibfu.isit.nemeton.algorithms.sac;
 
 import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.algorithms.StopCriterion;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.HistorySink;
+import edu.sibfu.isit.nemeton.models.HistoryWindow;
+import edu.sibfu.isit.nemeton.models.Point;
+import edu.sibfu.isit.nemeton.models.PointHistory;
 import edu.sibfu.isit.nemeton.models.Result;
 import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import edu.sibfu.isit.nemeton.models.functions.RangeConstraint;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -46,4 +60,188 @@ public class SACAlgorithmTest {
         int foo = 42;
     }
     
+    @Test
+    public void testSeed() {
+        NFunction func = new NFunction((x, y) -> x*x + y*y);
+        
+        SACBuilder bldr = new SACBuilder();
+        bldr.seed( 42L );
+        Result a = bldr.build( func ).minimize();
+        Result b = bldr.build( func ).minimize();
+        
+        assertEquals( a.getValues()[ 0 ], b.getValues()[ 0 ] );
+        assertEquals( a.getEvaluations(), b.getEvaluations() );
+        assertNotEquals( 
+            bldr.newRandom( 0 ).nextLong(), bldr.newRandom( 1 ).nextLong() 
+        );
+    }
+    
+    @Test
+    public void testMultiStart() {
+        NFunction func = new NFunction((x, y) -> 
+            Math.pow(x*x + y - 11, 2) + Math.pow(x + y*y - 7, 2)
+        );
+        
+        SACBuilder bldr = new SACBuilder().starts( 16 ).cullAfter( 0 );
+        bldr.seed( 7L );
+        Result res = bldr.build( func ).minimize();
+        
+        assertTrue( res.getValues().length >= 3 );
+        assertEquals( 0, res.getValues()[ 0 ].getValue(), 1E-6 );
+        assertEquals( 16, res.getHistory().size() );
+    }
+    
+    @Test
+    public void testComparator() {
+        NFunction func = new NFunction((x, y) -> 5 - (x - 1)*(x - 1) - (y + 2)*(y + 2));
+        Comparator<CalculatedPoint> cmp = ( a, b ) -> Double.compare( b.getValue(), a.getValue() );
+        
+        SACBuilder bldr = new SACBuilder();
+        bldr.seed( 42L );
+        Result max = bldr.build( func ).maximize();
+        Result custom = bldr.build( func ).run( cmp );
+        
+        assertEquals( max.getValues()[ 0 ], custom.getValues()[ 0 ] );
+        assertEquals( 5, custom.getValues()[ 0 ].getValue(), 1E-6 );
+        
+        bldr.starts( 4 ).cullAfter( 0 );
+        Result multi = bldr.build( func ).run( cmp );
+        assertEquals( 5, multi.getValues()[ 0 ].getValue(), 1E-6 );
+    }
+    
+    @Test
+    public void testMultiStartBudget() {
+        NFunction func = new NFunction((x, y) -> 
+            Math.pow(x*x + y - 11, 2) + Math.pow(x + y*y - 7, 2)
+        );
+        
+        SACBuilder bldr = new SACBuilder().starts( 8 ).cullAfter( 0 ).sampleSize( 50 );
+        bldr.seed( 7L );
+        bldr.stop( StopCriterion.maxEvaluations( 2000 ) );
+        Result res = bldr.build( func ).minimize();
+        
+        // Every trajectory may overshoot by one iteration
+        assertTrue( res.getEvaluations() >= 2000 );
+        assertTrue( res.getEvaluations() <= 2000 + 8 * 51 );
+    }
+    
+    @Test
+    public void testOddMetric() {
+        NFunction func = new NFunction((x, y) -> 
+            (x - 1)*(x - 1) + (y + 2)*(y + 2) + Math.sin(3*x) * Math.sin(3*y)
+        );
+        
+        func.constraint( RangeConstraint.create( -10, 10, 2 ) );
+        
+        SACBuilder bldr = new SACBuilder().metric( 1 );
+        bldr.constraint( func.constraints() );
+        bldr.seed( 1L );
+        Result res = bldr.build( func ).minimize();
+        
+        assertEquals( -0.5047, res.getValues()[ 0 ].getValue(), 1E-4 );
+    }
+    
+    @Test
+    public void testHistoryClosedOnFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        NFunction func = new NFunction((x, y) -> {
+            if ( calls.incrementAndGet() > 100 ) {
+                throw new IllegalStateException();
+            }
+            return x*x + y*y;
+        });
+        AtomicBoolean closed = new AtomicBoolean();
+        HistorySink sink = new HistorySink() {
+            @Override
+            public void point( int aRow, CalculatedPoint aPoint ) { }
+            @Override
+            public void parameter( String aId, double aValue ) { }
+            @Override
+            public void pointParameter( String aId, Point aValue ) { }
+            @Override
+            public void close() {
+                closed.set( true );
+            }
+        };
+        
+        OptimizationAlgorithm sac = new SACBuilder().build( func );
+        sac.history( () -> new PointHistory( HistoryWindow.NONE, sink ) );
+        try {
+            sac.minimize();
+            fail();
+        } catch ( IllegalStateException ex ) {
+            assertTrue( closed.get() );
+        }
+    }
+    
+    @Test
+    public void testAsync() {
+        NFunction func = new NFunction((x, y) -> x*x + y*y);
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        
+        SACBuilder bldr = new SACBuilder();
+        bldr.seed( 42L );
+        Result sync = bldr.build( func ).minimize();
+        bldr.async( executor, 1 );
+        Result async = bldr.build( func ).minimize();
+        bldr.async( executor, 4 );
+        Result steady = bldr.build( func ).minimize();
+        executor.shutdown();
+        
+        assertEquals( sync.getValues()[ 0 ], async.getValues()[ 0 ] );
+        assertEquals( sync.getEvaluations(), async.getEvaluations() );
+        assertEquals( 0, steady.getValues()[ 0 ].getValue(), 1E-6 );
+    }
+    
+    @Test( timeout = 10000 )
+    public void testAsyncIterations() {
+        NFunction func = new NFunction((x, y) -> x*x + y*y);
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        
+        for ( int iterations = 0; iterations <= 1; iterations++ ) {
+            SACBuilder bldr = new SACBuilder().iterations( iterations );
+            bldr.seed( 42L );
+            Result sync = bldr.build( func ).minimize();
+            bldr.async( executor, 1 );
+            Result async = bldr.build( func ).minimize();
+            
+            assertEquals( iterations, async.getIterations() );
+            assertEquals( "по итерациям", async.getEndClause() );
+            assertEquals( sync.getValues()[ 0 ], async.getValues()[ 0 ] );
+            assertEquals( sync.getEvaluations(), async.getEvaluations() );
+        }
+        executor.shutdown();
+    }
+    
+    @Test
+    public void testAsyncCancelledOnFailure() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch failed = new CountDownLatch( 1 );
+        NFunction func = new NFunction((x, y) -> {
+            if ( calls.incrementAndGet() == 2 ) {
+                throw new IllegalStateException();
+            }
+            try {
+                failed.await( 1, TimeUnit.SECONDS );
+            } catch ( InterruptedException ex ) {
+                Thread.currentThread().interrupt();
+            }
+            return x*x + y*y;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        SACBuilder bldr = new SACBuilder();
+        bldr.async( executor, 8 );
+        try {
+            bldr.build( func ).minimize();
+            fail();
+        } catch ( IllegalStateException ex ) {
+            failed.countDown();
+        }
+        executor.shutdown();
+        assertTrue( executor.awaitTermination( 5, TimeUnit.SECONDS ) );
+        
+        assertTrue( calls.get() <= 3 );
+    }
+    
 }
@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.algorithms.sac.kernels;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class SelectiveKernelTest {
+    
+    @Test
+    public void testPow() {
+        for ( double x : new double[] { -1.5, 0, 0.3, 0.999, 2 } ) {
+            for ( int n = -3; n <= 60; n++ ) {
+                double expected = Math.pow( x, n );
+                assertEquals( expected, SelectiveKernel.pow( x, n ), Math.abs( expected ) * 1E-13 );
+            }
+        }
+        assertEquals( Math.pow( 0.5, 2.5 ), SelectiveKernel.pow( 0.5, 2.5 ), 0 );
+        assertTrue( Double.isNaN( SelectiveKernel.pow( Double.NaN, 3 ) ) );
+    }
+    
+    @Test
+    public void testBatch() {
+        SelectiveKernel[] kernels = { new LinearKernel(), new ParabolicKernel(), new CubicKernel() };
+        double[] g = new double[ 101 ];
+        for ( int i = 0; i < g.length; i++ ) {
+            g[ i ] = i / 100.0;
+        }
+        
+        for ( SelectiveKernel kernel : kernels ) {
+            SelectiveKernel table = new TabulatedKernel( kernel );
+            for ( double s : new double[] { 1, 10, 2.5 } ) {
+                double[] out = new double[ g.length ];
+                double[] lookup = g.clone();
+                kernel.eval( s, g, out );
+                table.eval( s, lookup, lookup );
+                for ( int i = 0; i < g.length; i++ ) {
+                    assertEquals( kernel.eval( s, g[ i ] ), out[ i ], 1E-12 );
+                    assertEquals( out[ i ], lookup[ i ], 1E-4 );
+                }
+            }
+        }
+    }
+    
+}
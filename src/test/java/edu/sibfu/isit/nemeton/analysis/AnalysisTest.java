@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.analysis;
+
+import edu.sibfu.isit.nemeton.algorithms.AlgorithmBuilder;
+import edu.sibfu.isit.nemeton.algorithms.OptimizationAlgorithm;
+import edu.sibfu.isit.nemeton.models.AnalysisResult;
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.Result;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.JFrame;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class AnalysisTest {
+    
+    /**
+     * Every even run finds minimum in 100 evaluations, 
+     * every odd one misses it in 300 evaluations.
+     */
+    private static class Alternating extends AlgorithmBuilder {
+        
+        private final AtomicInteger runs = new AtomicInteger();
+        
+        @Override
+        public OptimizationAlgorithm build( NFunction aFunction ) {
+            return new OptimizationAlgorithm( aFunction ) {
+                @Override
+                public Result run( Comparator<CalculatedPoint> comparator ) {
+                    final double x = runs.getAndIncrement() % 2 == 0 ? 0 : 5;
+                    return new Result( 
+                        this, f, 
+                        new CalculatedPoint[] { new CalculatedPoint( x, x ) },
+                        1, x == 0 ? 100 : 300, 1E-3 
+                    );
+                }
+            };
+        }
+
+        @Override
+        public boolean isConstrained() {
+            return false;
+        }
+
+        @Override
+        public JFrame show() {
+            return null;
+        }
+        
+    }
+    
+    @Test
+    public void testEvaluations() {
+        NFunction func = new NFunction( ( x ) -> x.get( 0 ), 1 );
+        func.minima( new CalculatedPoint( 0, 0.0 ) );
+        
+        AnalysisResult res = new Analysis().analyse( func, new Alternating(), 8, 1E-3, ( n ) -> { } );
+        
+        assertEquals( 0.5, res.success, 1E-9 );
+        assertEquals( 8, res.runs );
+        assertEquals( 100, res.meanIterations, 1E-9 );
+        assertEquals( 0, res.evaluationsDeviation, 1E-9 );
+    }
+    
+    @Test
+    public void testAdaptive() {
+        NFunction func = new NFunction( ( x ) -> x.get( 0 ), 1 );
+        func.minima( new CalculatedPoint( 0, 0.0 ) );
+        
+        AnalysisResult res = new Analysis()
+            .adaptive( 0.5 )
+            .analyse( func, new Alternating(), 1000, 1E-3, ( n ) -> { } );
+        
+        assertTrue( res.runs >= 16 && res.runs < 1000 );
+        assertEquals( 0.5, res.success, 1E-9 );
+    }
+    
+    @Test
+    public void testConfidence() {
+        NFunction func = new NFunction( ( x ) -> x.get( 0 ), 1 );
+        func.minima( new CalculatedPoint( 0, 0.0 ) );
+        
+        AnalysisResult narrow = new Analysis()
+            .confidence( 1 )
+            .analyse( func, new Alternating(), 8, 1E-3, ( n ) -> { } );
+        AnalysisResult wide = new Analysis()
+            .confidence( 3 )
+            .analyse( func, new Alternating(), 8, 1E-3, ( n ) -> { } );
+        
+        assertTrue( wide.successLower < narrow.successLower );
+        assertTrue( wide.successUpper > narrow.successUpper );
+    }
+    
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.analysis;
+
+import edu.sibfu.isit.nemeton.models.CalculatedPoint;
+import edu.sibfu.isit.nemeton.models.Metric;
+import edu.sibfu.isit.nemeton.models.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class MinimaIndexTest {
+    
+    @Test
+    public void testMatches() {
+        Random random = new Random( 42 );
+        for ( int arity = 1; arity <= 4; arity++ ) {
+            List<CalculatedPoint> minima = new ArrayList<>();
+            for ( int i = 0; i < 300; i++ ) {
+                double[] x = new double[ arity ];
+                for ( int v = 0; v < arity; v++ ) {
+                    x[ v ] = random.nextInt( 20 ) * 0.5;
+                }
+                minima.add( new CalculatedPoint( random.nextGaussian(), new Point( x ) ) );
+            }
+            MinimaIndex index = new MinimaIndex( minima );
+            
+            for ( int i = 0; i < 2000; i++ ) {
+                double[] x = new double[ arity ];
+                for ( int v = 0; v < arity; v++ ) {
+                    x[ v ] = random.nextDouble() * 10;
+                }
+                Point p = new Point( x );
+                double value = random.nextGaussian() * 10;
+                double eps = random.nextDouble();
+                
+                boolean near = false;
+                boolean close = false;
+                for ( CalculatedPoint min : minima ) {
+                    near |= Metric.EUCLIDEAN.withinDistance( min, p, eps );
+                    close |= Math.abs( min.getValue() - value ) < eps;
+                }
+                assertEquals( near, index.hasNear( x, eps ) );
+                assertEquals( close, index.hasValue( value, eps ) );
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class MetricTest {
+    
+    @Test
+    public void testDistance() {
+        Point a = new Point( 1, 2, 3 );
+        Point b = new Point( 3, 0, 2 );
+        
+        assertEquals( 3, Metric.EUCLIDEAN.distance( a, b ), 1E-12 );
+        assertEquals( 9, Metric.SQUARED_EUCLIDEAN.distance( a, b ), 1E-12 );
+        assertEquals( 2, Metric.CHEBYSHEV.distance( a, b ), 1E-12 );
+        assertEquals( 5, Metric.MANHATTAN.distance( a, b ), 1E-12 );
+        assertEquals( 3, a.distance( b ), 1E-12 );
+        assertEquals( 1, new Point( 1.0 ).distance( new Point( 1.0, 1.0 ) ), 1E-12 );
+    }
+    
+    @Test
+    public void testWithinDistance() {
+        Point a = new Point( 1, 2, 3 );
+        Point b = new Point( 3, 0, 2 );
+        
+        for ( Metric m : Metric.values() ) {
+            double d = m.distance( a, b );
+            assertTrue( m.withinDistance( a, b, d + 1E-9 ) );
+            assertFalse( m.withinDistance( a, b, d ) );
+            assertFalse( m.withinDistance( a, new Point( Double.NaN, 0, 0 ), 1E9 ) );
+        }
+    }
+    
+}
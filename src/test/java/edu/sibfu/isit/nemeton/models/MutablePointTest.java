@@ -0,0 +1,56 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class MutablePointTest {
+    
+    @Test
+    public void testInPlace() {
+        MutablePoint x = new MutablePoint( new Point( 1, 2, 3 ) );
+        double[] buffer = x.get();
+        
+        x.addInPlace( 1, 0 ).scaleInPlace( 2 ).powInPlace( 2 );
+        assertArrayEquals( new double[] { 16, 16, 36 }, x.get(), 1E-12 );
+        
+        x.axpy( -1, new Point( 16, 16, 36 ) );
+        assertArrayEquals( new double[] { 0, 0, 0 }, x.get(), 1E-12 );
+        assertSame( buffer, x.get() );
+    }
+    
+    @Test
+    public void testSnapshot() {
+        MutablePoint x = new MutablePoint( 2 ).set( 0, 3.14 );
+        Point snapshot = new Point( x );
+        x.set( 0, 42 );
+        assertEquals( new Point( 3.14, 0 ), snapshot );
+    }
+    
+}
@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import java.io.StringWriter;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class PointHistoryTest {
+    
+    private static void fill( PointHistory aHistory, int aN ) {
+        for ( int i = 0; i < aN; i++ ) {
+            aHistory.add( 0, new CalculatedPoint( i, i, 0 ) );
+            aHistory.addParameter( "p", i );
+        }
+    }
+    
+    @Test
+    public void testLast() {
+        PointHistory history = new PointHistory( HistoryWindow.last( 3 ) );
+        fill( history, 10 );
+        assertEquals( 3, history.get( 0 ).size() );
+        assertEquals( 7, history.get( 0 ).get( 0 ).getValue(), 0 );
+        assertEquals( 9, history.get( 0 ).get( 2 ).getValue(), 0 );
+        assertEquals( 9, history.getParameter( "p" ).get( 2 ), 0 );
+    }
+    
+    @Test
+    public void testEvery() {
+        PointHistory history = new PointHistory( HistoryWindow.every( 4 ) );
+        fill( history, 10 );
+        assertEquals( 3, history.get( 0 ).size() );
+        assertEquals( 8, history.get( 0 ).get( 2 ).getValue(), 0 );
+    }
+    
+    @Test
+    public void testSink() {
+        StringWriter out = new StringWriter();
+        PointHistory history = new PointHistory( HistoryWindow.NONE, new FileHistorySink( out ) );
+        fill( history, 2 );
+        history.close();
+        
+        assertTrue( history.get( 0 ).isEmpty() );
+        assertEquals( 
+            "point,0,0.0,0.0,0.0\nparameter,p,0.0\npoint,0,1.0,1.0,0.0\nparameter,p,1.0\n", 
+            out.toString() 
+        );
+    }
+    
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models;
+
+import edu.sibfu.isit.nemeton.algorithms.sac.SACBuilder;
+import edu.sibfu.isit.nemeton.models.functions.NFunction;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class RunLogTest {
+    
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path path = Files.createTempFile( "nemeton", ".nlog" );
+        try {
+            // Block of 4 records: 22 points, 7 parameters and 5 point 
+            // parameters end with partial block
+            PointHistory history = new PointHistory( 
+                HistoryWindow.ALL, new RunLogWriter( path, 4 ) 
+            );
+            for ( int i = 0; i < 11; i++ ) {
+                history.add( 0, new CalculatedPoint( i, i, -i ) );
+                history.add( 1, new CalculatedPoint( -i, 0.5 * i, 2.0 * i ) );
+                history.addParameter( "p", i );
+                if ( i < 5 ) {
+                    history.addPointParameter( "Δx", new Point( 1.0 / ( i + 1 ), i ) );
+                }
+            }
+            history.close();
+            
+            try ( RunLog log = new RunLog( path ) ) {
+                assertEquals( 22, log.size() );
+                assertEquals( 2, log.getArity() );
+                for ( int i = 0; i < 11; i++ ) {
+                    assertEquals( 0, log.row( 2 * i ) );
+                    assertEquals( 1, log.row( 2 * i + 1 ) );
+                    assertEquals( i, log.iteration( 2 * i ) );
+                    assertEquals( i, log.iteration( 2 * i + 1 ) );
+                    assertEquals( i, log.value( 2 * i ), 0 );
+                    assertEquals( -i, log.value( 2 * i + 1 ), 0 );
+                    assertEquals( -i, log.coordinate( 2 * i, 1 ), 0 );
+                    assertEquals( history.get( 1 ).get( i ), log.point( 2 * i + 1 ) );
+                }
+                
+                assertEquals( 1, log.parameters().size() );
+                assertArrayEquals( 
+                    new double[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }, 
+                    log.parameter( "p" ), 0 
+                );
+                assertNull( log.parameter( "q" ) );
+                assertEquals( 1, log.pointParameters().size() );
+                assertEquals( history.getPointParameters().get( "Δx" ), log.pointParameter( "Δx" ) );
+                
+                PointHistory restored = log.toHistory( HistoryWindow.ALL );
+                assertEquals( 2, restored.size() );
+                assertEquals( history.get( 0 ), restored.get( 0 ) );
+                assertEquals( history.get( 1 ), restored.get( 1 ) );
+                assertEquals( history.getParameter( "p" ), restored.getParameter( "p" ) );
+            }
+        } finally {
+            Files.delete( path );
+        }
+    }
+    
+    @Test
+    public void testResultLog() throws IOException {
+        Path path = Files.createTempFile( "nemeton", ".nlog" );
+        try {
+            NFunction func = new NFunction((x, y) -> x*x + y*y);
+            SACBuilder bldr = new SACBuilder();
+            Result res = bldr.build( func ).minimize();
+            PointHistory history = res.getHistory();
+            res.writeLog( path );
+            
+            try ( RunLog log = new RunLog( path ) ) {
+                assertEquals( history.get( 0 ).size(), log.size() );
+                res.readLog( log, HistoryWindow.ALL );
+            }
+            assertEquals( history.get( 0 ), res.getHistory().get( 0 ) );
+            for ( int i = 0; i < history.get( 0 ).size(); i++ ) {
+                assertEquals( 
+                    history.get( 0 ).get( i ).getValue(), 
+                    res.getHistory().get( 0 ).get( i ).getValue(), 0 
+                );
+            }
+            assertEquals( 
+                history.getPointParameters().get( "Δx" ), 
+                res.getHistory().getPointParameters().get( "Δx" ) 
+            );
+        } finally {
+            Files.delete( path );
+        }
+    }
+    
+    @Test( expected = IOException.class )
+    public void testNotLog() throws IOException {
+        Path path = Files.createTempFile( "nemeton", ".nlog" );
+        try {
+            Files.write( path, Arrays.asList( "point,0,0.0,0.0,0.0" ) );
+            new RunLog( path ).close();
+        } finally {
+            Files.delete( path );
+        }
+    }
+    
+    @Test( expected = IOException.class )
+    public void testTruncated() throws IOException {
+        Path path = Files.createTempFile( "nemeton", ".nlog" );
+        try {
+            try ( RunLogWriter writer = new RunLogWriter( path ) ) {
+                writer.point( 0, new CalculatedPoint( 1, 2.0, 3.0 ) );
+            }
+            byte[] bytes = Files.readAllBytes( path );
+            Files.write( path, Arrays.copyOf( bytes, bytes.length - 1 ) );
+            new RunLog( path ).close();
+        } finally {
+            Files.delete( path );
+        }
+    }
+    
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models.functions;
+
+import edu.sibfu.isit.nemeton.models.Point;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class CachedFunctionTest {
+    
+    @Test
+    public void testMemoization() {
+        AtomicInteger calls = new AtomicInteger();
+        CachedFunction f = NFunction.of( ( x, y ) -> {
+            calls.incrementAndGet();
+            return x * x + y * y;
+        } ).setTitle( "Гиперсфера" ).cached( 2 );
+        
+        assertEquals( "Гиперсфера", f.getTitle() );
+        assertEquals( 5, f.eval( new Point( 1.0, 2.0 ) ), 0 );
+        assertEquals( 5, f.eval( new Point( 1.0, 2.0 ) ), 0 );
+        assertEquals( 1, calls.get() );
+        assertEquals( 1, f.hits() );
+        assertEquals( 1, f.misses() );
+    }
+    
+    @Test
+    public void testEviction() {
+        AtomicInteger calls = new AtomicInteger();
+        CachedFunction f = NFunction.of( ( x, y ) -> {
+            calls.incrementAndGet();
+            return x + y;
+        } ).cached( 2 );
+        
+        f.eval( new Point( 1.0, 1.0 ) );
+        f.eval( new Point( 2.0, 2.0 ) );
+        f.eval( new Point( 1.0, 1.0 ) );
+        f.eval( new Point( 3.0, 3.0 ) );
+        assertEquals( 2, f.size() );
+        
+        f.eval( new Point( 1.0, 1.0 ) );
+        assertEquals( 3, calls.get() );
+        f.eval( new Point( 2.0, 2.0 ) );
+        assertEquals( 4, calls.get() );
+    }
+    
+}
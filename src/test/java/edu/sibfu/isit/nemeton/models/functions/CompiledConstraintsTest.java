@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models.functions;
+
+import edu.sibfu.isit.nemeton.framework.Pair;
+import edu.sibfu.isit.nemeton.models.Point;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class CompiledConstraintsTest {
+    
+    @Test
+    public void testMerge() {
+        CompiledConstraints c = new CompiledConstraints( Arrays.asList(
+            RangeConstraint.create( -1.0, 1.0, 2 ),
+            new RangeConstraint( new Pair<>( 0.0, 2.0 ) )
+        ), 2 );
+        
+        assertEquals( 0, c.lower( 0 ), 0 );
+        assertEquals( 1, c.upper( 0 ), 0 );
+        assertEquals( -1, c.lower( 1 ), 0 );
+        assertFalse( c.hasOthers() );
+        assertTrue( c.check( new Point( 0.5, -1.0 ) ) );
+        assertFalse( c.check( new Point( -0.5, 0.0 ) ) );
+    }
+    
+    @Test
+    public void testCheckAll() {
+        CompiledConstraints c = new CompiledConstraints( Arrays.asList(
+            RangeConstraint.create( -1.0, 1.0, 2 ),
+            ( Point p ) -> p.get( 0 ) + p.get( 1 ) < 1
+        ), 2 );
+        
+        double[] coords = { 0, 0, 0.9, 0.9, 2, 0, -1, 1 };
+        boolean[] out = new boolean[ 4 ];
+        c.checkAll( coords, 4, out );
+        assertArrayEquals( new boolean[] { true, false, false, true }, out );
+    }
+    
+}
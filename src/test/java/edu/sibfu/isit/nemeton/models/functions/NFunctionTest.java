@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2016 Max Balushkin.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package edu.sibfu.isit.nemeton.models.functions;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Max Balushkin
+ */
+public class NFunctionTest {
+    
+    private static double[] coords( int aSize, int aArity ) {
+        Random rnd = new Random( 42 );
+        double[] coords = new double[ aSize * aArity ];
+        for ( int i = 0; i < coords.length; i++ ) {
+            coords[ i ] = rnd.nextDouble() * 10 - 5;
+        }
+        return coords;
+    }
+    
+    private static void assertBatch( NFunction f, int aSize ) {
+        int arity = f.getArity();
+        double[] coords = coords( aSize, arity );
+        double[] batch = new double[ aSize ];
+        f.evalBatch( coords, arity, batch );
+        
+        double[] x = new double[ arity ];
+        for ( int i = 0; i < aSize; i++ ) {
+            System.arraycopy( coords, i * arity, x, 0, arity );
+            assertEquals( f.eval( x ), batch[ i ], 0 );
+        }
+    }
+    
+    @Test
+    public void testEvalBatch() {
+        ForkJoinPool pool = new ForkJoinPool( 4 );
+        NFunction f = NFunction.of( x -> x[ 0 ] * x[ 0 ] + Math.sin( x[ 1 ] ) * x[ 2 ], 3 )
+            .batchThreshold( 64 )
+            .pool( pool );
+        
+        assertBatch( f, 1 );
+        assertBatch( f, 63 );
+        assertBatch( f, 64 );
+        assertBatch( f, 1000 );
+        pool.shutdown();
+    }
+    
+    @Test
+    public void testEvalBatchSequential() {
+        Thread caller = Thread.currentThread();
+        NFunction f = NFunction.of( ( x ) -> {
+            assertSame( caller, Thread.currentThread() );
+            return x[ 0 ];
+        }, 1 );
+        
+        assertEquals( NFunction.SEQUENTIAL, f.batchThreshold() );
+        assertBatch( f, 1000 );
+        assertEquals( NFunction.PARALLEL_BATCH_THRESHOLD, f.parallel().batchThreshold() );
+    }
+    
+    @Test
+    public void testEvalBatchBivariate() {
+        NFunction f = NFunction.of( ( x, y ) -> x * x - 3 * y ).batchThreshold( 16 );
+        
+        assertBatch( f, 15 );
+        assertBatch( f, 500 );
+    }
+    
+}